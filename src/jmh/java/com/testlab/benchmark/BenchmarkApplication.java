@@ -0,0 +1,71 @@
+package com.testlab.benchmark;
+
+import com.testlab.SpringBootUnitTestApplication;
+import com.testlab.model.Employee;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Boots the real application against an in-memory H2 database standing in for MySQL
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        return start(new SpringApplicationBuilder(SpringBootUnitTestApplication.class), properties);
+    }
+
+    // every JDBC statement execution sleeps for the given latency, simulating a slow remote database
+    public static ConfigurableApplicationContext startWithDbLatency(Duration latency, String... properties) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(SpringBootUnitTestApplication.class)
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        return bean instanceof DataSource dataSource && !(bean instanceof LatencyInjectingDataSource)
+                                ? new LatencyInjectingDataSource(dataSource, latency) : bean;
+                    }
+                }));
+        return start(builder, properties);
+    }
+
+    private static ConfigurableApplicationContext start(SpringApplicationBuilder builder, String... properties) {
+        Stream<String> defaults = Stream.of(
+                "spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "server.port=0",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN");
+
+        // command line arguments take precedence over application.properties; a repeated argument would be joined
+        // into a list, so a caller's property replaces the default instead
+        Set<String> overridden = Stream.of(properties).map(BenchmarkApplication::key).collect(Collectors.toSet());
+        String[] args = Stream.concat(defaults.filter(property -> !overridden.contains(key(property))), Stream.of(properties))
+                .map(property -> "--" + property).toArray(String[]::new);
+        return builder.run(args);
+    }
+
+    private static String key(String property) {
+        return property.substring(0, property.indexOf('='));
+    }
+
+    public static List<Employee> employees(String prefix, int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(Employee.builder().firstName("First" + i).lastName("Last" + i)
+                    .email(prefix + i + "@gmail.com").build());
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,72 @@
+package com.testlab.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testlab.dto.EmployeeView;
+import com.testlab.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Encode / decode cost of the list payload of GET /api/employees in each negotiable format, with the builder
+// defaults Spring MVC uses. Payload sizes are printed once per trial, next to the timings in the fork output.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EmployeeCodecBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"1", "100", "100000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private JavaType listType;
+    private List<EmployeeView> employees;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        listType = objectMapper.getTypeFactory().constructCollectionType(List.class, EmployeeView.class);
+        List<Employee> entities = BenchmarkApplication.employees("codec", size);
+        for (int i = 0; i < entities.size(); i++) {
+            entities.get(i).setId(i + 1);
+        }
+        employees = entities.stream().map(EmployeeView::of).toList();
+        payload = objectMapper.writeValueAsBytes(employees);
+        System.out.printf("%n%s x %d employees: %d bytes (%.1f per employee)%n",
+                format, size, payload.length, (double) payload.length / size);
+    }
+
+    @Benchmark
+    public byte[] encodeList() throws IOException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public List<EmployeeView> decodeList() throws IOException {
+        return objectMapper.readValue(payload, listType);
+    }
+}
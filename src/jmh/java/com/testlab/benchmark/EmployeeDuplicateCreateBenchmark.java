@@ -0,0 +1,100 @@
+package com.testlab.benchmark;
+
+import com.testlab.exception.EmployeeConflictException;
+import com.testlab.model.Employee;
+import com.testlab.repository.EmployeeRepository;
+import com.testlab.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// The duplicate create, which dominates replays, measured end to end on the embedded database.
+// duplicateCreateInsert is the bare repository save: the single INSERT fails on the unique email constraint, the
+// driver and Hibernate build their exceptions and the transaction rolls back, which is the floor of the path.
+// EmailConflictTranslator answers with a stackless DuplicateKeyException instead of Spring's.
+// duplicateCreateService is saveEmployee with its stackless EmployeeConflictException, and duplicateCreateMvc adds
+// the 409 problem detail on top. Neither adds a query before the INSERT, so a successful create stays one statement.
+// The old 500 response went through the container's error page dispatch, which MockMvc does not perform.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeDuplicateCreateBenchmark {
+
+    private static final String EMAIL = "duplicate@gmail.com";
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private EmployeeService employeeService;
+    private EmployeeRepository employeeRepository;
+    private TransactionTemplate transactionTemplate;
+    private byte[] duplicateBody;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        employeeService = context.getBean(EmployeeService.class);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        Employee existing = Employee.builder().firstName("First").lastName("Last").email(EMAIL).build();
+        employeeService.saveEmployee(existing);
+        duplicateBody = ("{\"firstName\":\"First\",\"lastName\":\"Last\",\"email\":\"" + EMAIL + "\"}").getBytes();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RuntimeException duplicateCreateInsert() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> employeeRepository.save(
+                    Employee.builder().firstName("First").lastName("Last").email(EMAIL).build()));
+            throw new IllegalStateException("duplicate was accepted");
+        } catch (DataIntegrityViolationException ex) {
+            return new RuntimeException("Employee already exists with given email: " + EMAIL, ex);
+        }
+    }
+
+    @Benchmark
+    public RuntimeException duplicateCreateService() {
+        try {
+            employeeService.saveEmployee(Employee.builder().firstName("First").lastName("Last").email(EMAIL).build());
+            throw new IllegalStateException("duplicate was accepted");
+        } catch (EmployeeConflictException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public byte[] duplicateCreateMvc() throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.post("/api/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(duplicateBody))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+}
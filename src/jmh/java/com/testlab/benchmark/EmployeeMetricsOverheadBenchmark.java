@@ -0,0 +1,63 @@
+package com.testlab.benchmark;
+
+import com.testlab.config.EmployeeProperties;
+import com.testlab.dto.EmployeeView;
+import com.testlab.repository.EmployeeRepository;
+import com.testlab.service.EmployeeService;
+import com.testlab.service.impl.EmployeeServiceImpl;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Cost of the @Timed histogram timer around a service call, with the database stubbed out so only the
+// instrumentation is measured
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeMetricsOverheadBenchmark {
+
+    private EmployeeService plainService;
+    private EmployeeService timedService;
+
+    @Setup
+    public void setUp() {
+        Optional<EmployeeView> employee = Optional.of(new EmployeeView(1L, "Santosh", "K", "sant@gmail.com", 0L));
+        EmployeeRepository repository = (EmployeeRepository) Proxy.newProxyInstance(
+                EmployeeRepository.class.getClassLoader(), new Class<?>[]{EmployeeRepository.class},
+                (proxy, method, args) -> method.getName().equals("findViewById") ? employee : null);
+
+        plainService = new EmployeeServiceImpl(repository, new EmployeeProperties(), event -> { }, null);
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(
+                new EmployeeServiceImpl(repository, new EmployeeProperties(), event -> { }, null));
+        proxyFactory.addAspect(new TimedAspect(new SimpleMeterRegistry()));
+        timedService = proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public Optional<EmployeeView> uninstrumented() {
+        return plainService.getEmployeeById(1L);
+    }
+
+    @Benchmark
+    public Optional<EmployeeView> timed() {
+        return timedService.getEmployeeById(1L);
+    }
+}
@@ -0,0 +1,65 @@
+package com.testlab.benchmark;
+
+import com.testlab.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The 10k-row list read before and after the projection change: managed entities in a read-write transaction
+// vs constructor-expression DTOs in a read-only one. Latency per call; allocation per call is the
+// gc.alloc.rate.norm column from the gc profiler (on by default, see jmh.prof in the pom).
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EmployeeReadPathBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"entity", "projection"})
+    public String readModel;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+    private TransactionTemplate transaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("employee.cache.enabled=false");
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        employeeRepository.batchInsert(BenchmarkApplication.employees("read", ROWS));
+
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transaction.setReadOnly("projection".equals(readModel));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<?> listAll() {
+        return transaction.execute(status -> "projection".equals(readModel)
+                ? employeeRepository.findAllViews()
+                : employeeRepository.findAll());
+    }
+}
@@ -0,0 +1,57 @@
+package com.testlab.benchmark;
+
+import com.testlab.dto.EmployeeView;
+import com.testlab.search.EmployeeSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Type-ahead queries against the in-memory index holding ROWS employees; the budget is p99 < 5 ms, read it from
+// the p0.99 line of the sample-time output. Covers broad prefixes, typos and multi-word queries.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EmployeeSearchBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    private static final String[] FIRST_NAMES = {"john", "joan", "santosh", "manoj", "sonu", "mary", "michael",
+            "priya", "rahul", "anita"};
+
+    @Param({"jo", "santo", "jhon", "mcihael", "last42 pri", "gmail"})
+    public String query;
+
+    private EmployeeSearchIndex searchIndex;
+
+    @Setup
+    public void setUp() {
+        // load and search only, so no repository or transaction manager is needed
+        searchIndex = new EmployeeSearchIndex(null, null);
+        Random random = new Random(42);
+        for (int i = 0; i < ROWS; i++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + (char) ('a' + random.nextInt(26));
+            String lastName = "last" + random.nextInt(5_000);
+            searchIndex.index(new EmployeeView(i, firstName, lastName, firstName + "." + lastName + "@gmail.com", 0L));
+        }
+    }
+
+    @Benchmark
+    public List<EmployeeView> search() {
+        return searchIndex.search(query, 20);
+    }
+}
@@ -0,0 +1,84 @@
+package com.testlab.benchmark;
+
+import com.testlab.dto.EmployeeView;
+import com.testlab.model.Employee;
+import com.testlab.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Slice;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// EmployeeServiceImpl operations through the full Spring proxy chain, with and without the read cache
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private long firstId;
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("employee.cache.enabled=" + cacheEnabled);
+        employeeService = context.getBean(EmployeeService.class);
+        firstId = employeeService.saveEmployees(BenchmarkApplication.employees("seed", ROWS)).get(0).id();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<EmployeeView> getEmployeeById() {
+        return employeeService.getEmployeeById(randomId());
+    }
+
+    @Benchmark
+    public Slice<EmployeeView> getEmployeesPage() {
+        return employeeService.getEmployeesAfter(randomId(), 50);
+    }
+
+    @Benchmark
+    public Employee saveEmployee() {
+        return employeeService.saveEmployee(Employee.builder().firstName("First").lastName("Last")
+                .email("bench" + emailSequence.incrementAndGet() + "@gmail.com").build());
+    }
+
+    @Benchmark
+    public Optional<EmployeeView> updateEmployee() {
+        long id = randomId();
+        return employeeService.updateEmployee(id, Employee.builder().firstName("First").lastName("Last")
+                .email("seed" + (id - firstId) + "@gmail.com").build(), null);
+    }
+
+    private long randomId() {
+        return firstId + ThreadLocalRandom.current().nextInt(ROWS);
+    }
+}
@@ -0,0 +1,105 @@
+package com.testlab.benchmark;
+
+import com.testlab.service.EmployeeService;
+import com.testlab.service.ReactiveEmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Servlet (Tomcat + JPA/JDBC) vs reactive (Netty + R2DBC) stack over real HTTP, both on in-memory H2,
+// with CLIENTS requests in flight at once. Reported throughput is requests/sec, sample time is per burst.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ReactiveStackLoadBenchmark {
+
+    private static final int CLIENTS = 1000;
+    private static final int ROWS = 1000;
+
+    @Param({"servlet", "reactive"})
+    public String stack;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("reactive".equals(stack)) {
+            // pool sizes match so the stacks differ only in how requests wait on the database
+            // Flyway migrates the same in-memory database over JDBC before the R2DBC pool uses it
+            String database = UUID.randomUUID().toString();
+            context = BenchmarkApplication.start("spring.profiles.active=reactive",
+                    "spring.flyway.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                    "spring.flyway.user=sa",
+                    "spring.flyway.password=",
+                    "spring.r2dbc.url=r2dbc:h2:mem:///" + database + "?options=MODE=MySQL;DB_CLOSE_DELAY=-1",
+                    "spring.r2dbc.username=sa",
+                    "spring.r2dbc.password=",
+                    "spring.r2dbc.pool.max-size=50");
+            firstId = context.getBean(ReactiveEmployeeService.class)
+                    .saveEmployees(BenchmarkApplication.employees("load", ROWS))
+                    .collectList()
+                    .block().get(0).id();
+        } else {
+            context = BenchmarkApplication.start("spring.datasource.hikari.maximum-pool-size=50",
+                    "employee.cache.enabled=false");
+            firstId = context.getBean(EmployeeService.class)
+                    .saveEmployees(BenchmarkApplication.employees("load", ROWS)).get(0).id();
+        }
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clientExecutor).build();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api/employees/";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clientExecutor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public int concurrentGetById() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + (firstId + ThreadLocalRandom.current().nextInt(ROWS))))
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            responses[i] = httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        }
+        CompletableFuture.allOf(responses).join();
+        return responses.length;
+    }
+}
@@ -0,0 +1,108 @@
+package com.testlab.benchmark;
+
+import com.testlab.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Platform vs virtual request threads over real HTTP, with CLIENTS requests in flight at once and every
+// SQL statement delayed by DB_LATENCY_MS. Reported throughput is requests/sec, sample time is per burst.
+// The delay is slept outside the driver, so it cannot show a driver pinning its carrier thread: set
+// BENCHMARK_MYSQL_URL (and BENCHMARK_MYSQL_USER / BENCHMARK_MYSQL_PASSWORD, root/root by default) to run against a real MySQL through Connector/J
+// instead. Either way the fork runs with -Djdk.tracePinnedThreads and prints the stack of every pinned wait.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Djdk.tracePinnedThreads=short"})
+public class VirtualThreadLoadBenchmark {
+
+    private static final int CLIENTS = 1000;
+    private static final int ROWS = 1000;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"20"})
+    public int dbLatencyMs;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // same pool size for both modes so the only difference is how many requests can wait on it
+        String[] properties = {
+                "spring.profiles.active=" + ("virtual".equals(threads) ? "virtual" : "default"),
+                "spring.datasource.hikari.maximum-pool-size=400",
+                "spring.datasource.hikari.connection-timeout=30000",
+                "employee.cache.enabled=false"};
+        String mysqlUrl = System.getenv("BENCHMARK_MYSQL_URL");
+        if (mysqlUrl == null || mysqlUrl.isBlank()) {
+            context = BenchmarkApplication.startWithDbLatency(Duration.ofMillis(dbLatencyMs), properties);
+        } else {
+            // the database's own round trips are the latency here
+            context = BenchmarkApplication.start(Stream.concat(Stream.of(properties), Stream.of(
+                    "spring.datasource.url=" + mysqlUrl,
+                    "spring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver",
+                    "spring.datasource.username=" + System.getenv().getOrDefault("BENCHMARK_MYSQL_USER", "root"),
+                    "spring.datasource.password=" + System.getenv().getOrDefault("BENCHMARK_MYSQL_PASSWORD", "root")))
+                    .toArray(String[]::new));
+        }
+        firstId = context.getBean(EmployeeService.class)
+                .saveEmployees(BenchmarkApplication.employees("load", ROWS)).get(0).id();
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clientExecutor).build();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api/employees/";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clientExecutor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public int concurrentGetById() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + (firstId + ThreadLocalRandom.current().nextInt(ROWS))))
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            responses[i] = httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        }
+        CompletableFuture.allOf(responses).join();
+        return responses.length;
+    }
+}
@@ -0,0 +1,135 @@
+package com.testlab.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Builds the requests of each operation and tracks the ids that exist, so gets, updates and deletes hit real rows.
+// Emails carry a per-run prefix, so repeated runs against the same --target do not collide.
+final class EmployeeApi {
+
+    record Call(Operation operation, HttpRequest request) {
+    }
+
+    private final URI baseUri;
+
+    private final Duration timeout;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    // guarded by itself; random picks and swap-removes are O(1)
+    private final List<Long> ids = new ArrayList<>();
+
+    EmployeeApi(String baseUrl, Duration timeout) {
+        this.baseUri = URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+        this.timeout = timeout;
+    }
+
+    void seed(HttpClient httpClient, int rows) throws IOException, InterruptedException {
+        for (int from = 0; from < rows; from += 1000) {
+            List<Map<String, String>> employees = new ArrayList<>();
+            for (int i = from; i < Math.min(rows, from + 1000); i++) {
+                employees.add(employee(nextEmail()));
+            }
+            HttpResponse<byte[]> response = httpClient.send(request("batch")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(employees)))
+                    .build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200)
+                throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode());
+            for (JsonNode result : objectMapper.readTree(response.body())) {
+                if (result.hasNonNull("id"))
+                    addId(result.get("id").asLong());
+            }
+        }
+    }
+
+    // get / update / delete fall back to a create while no employee exists
+    Call next(Operation operation, SplittableRandom random) {
+        Long id = switch (operation) {
+            case GET, UPDATE -> randomId(random, false);
+            case DELETE -> randomId(random, true);
+            default -> null;
+        };
+        if (id == null && operation != Operation.LIST)
+            operation = Operation.CREATE;
+
+        return switch (operation) {
+            case CREATE -> new Call(operation, request("")
+                    .header("Content-Type", "application/json")
+                    .POST(json(employee(nextEmail())))
+                    .build());
+            case GET -> new Call(operation, request(String.valueOf(id)).GET().build());
+            case LIST -> new Call(operation, request("?limit=100").GET().build());
+            case UPDATE -> new Call(operation, request(String.valueOf(id))
+                    .header("Content-Type", "application/json")
+                    .PUT(json(employee(nextEmail())))
+                    .build());
+            case DELETE -> new Call(operation, request(String.valueOf(id)).DELETE().build());
+        };
+    }
+
+    void onCreated(byte[] body) {
+        try {
+            addId(objectMapper.readTree(body).get("id").asLong());
+        } catch (IOException | RuntimeException ex) {
+            // the id is only needed to target later calls, a body that cannot be read is not a failed request
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout).header("Accept", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher json(Object value) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(value));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private String nextEmail() {
+        return "lt-" + runId + "-" + sequence.incrementAndGet() + "@loadtest.example";
+    }
+
+    private static Map<String, String> employee(String email) {
+        return Map.of("firstName", "Load", "lastName", "Test", "email", email);
+    }
+
+    private void addId(long id) {
+        synchronized (ids) {
+            ids.add(id);
+        }
+    }
+
+    private Long randomId(SplittableRandom random, boolean remove) {
+        synchronized (ids) {
+            if (ids.isEmpty())
+                return null;
+            int index = random.nextInt(ids.size());
+            Long id = ids.get(index);
+            if (remove) {
+                ids.set(index, ids.get(ids.size() - 1));
+                ids.remove(ids.size() - 1);
+            }
+            return id;
+        }
+    }
+}
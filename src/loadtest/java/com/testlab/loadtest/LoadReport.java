@@ -0,0 +1,24 @@
+package com.testlab.loadtest;
+
+import java.util.List;
+import java.util.Map;
+
+// JSON written to --report. No timestamps or host names, so two runs of the same settings can be diffed
+// directly; saturatedAtRate is the first rate whose goodput fell below 90% of it or whose p99 broke --slo-p99.
+record LoadReport(Settings settings, List<StepReport> steps, Integer maxSustainedRate, Integer saturatedAtRate) {
+
+    record Settings(List<Integer> rates, String duration, String warmup, Map<String, Integer> mix, int seedRows,
+                    String timeout, int maxInFlight, String sloP99, long seed) {
+    }
+
+    record StepReport(int targetRate, double achievedRate, double goodput, LatencySummary latencyMs,
+                      Map<String, OperationReport> operations) {
+    }
+
+    record OperationReport(long requests, long succeeded, Map<String, Long> statuses, long failures, long dropped,
+                           LatencySummary latencyMs) {
+    }
+
+    record LatencySummary(double mean, double p50, double p90, double p99, double p999, double max) {
+    }
+}
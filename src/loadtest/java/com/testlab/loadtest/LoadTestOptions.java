@@ -0,0 +1,67 @@
+package com.testlab.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Command line of LoadTestRunner. --name=value options below, every other argument (e.g.
+// --employee.cache.enabled=false) is passed on to the embedded application.
+record LoadTestOptions(List<Integer> rates, Duration duration, Duration warmup, Map<Operation, Integer> mix,
+                       int seedRows, String target, Duration timeout, int maxInFlight, Duration sloP99,
+                       long seed, Path report, List<String> applicationArgs) {
+
+    static LoadTestOptions parse(String... args) {
+        List<Integer> rates = List.of(250, 500, 1000, 2000, 4000);
+        Duration duration = Duration.ofSeconds(30);
+        Duration warmup = Duration.ofSeconds(10);
+        Map<Operation, Integer> mix = parseMix("get:60,list:10,create:10,update:15,delete:5");
+        int seedRows = 10_000;
+        String target = null;
+        Duration timeout = Duration.ofSeconds(5);
+        int maxInFlight = 20_000;
+        Duration sloP99 = Duration.ofMillis(500);
+        long seed = 42;
+        Path report = Path.of("target", "loadtest-report.json");
+        List<String> applicationArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = separator < 0 ? arg : arg.substring(0, separator);
+            String value = separator < 0 ? "" : arg.substring(separator + 1);
+            switch (name) {
+                case "--rates" -> rates = Arrays.stream(value.split(",")).map(String::trim).map(Integer::valueOf).toList();
+                case "--duration" -> duration = DurationStyle.detectAndParse(value);
+                case "--warmup" -> warmup = DurationStyle.detectAndParse(value);
+                case "--mix" -> mix = parseMix(value);
+                case "--seed-rows" -> seedRows = Integer.parseInt(value);
+                case "--target" -> target = value.isBlank() ? null : value;
+                case "--timeout" -> timeout = DurationStyle.detectAndParse(value);
+                case "--max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "--slo-p99" -> sloP99 = DurationStyle.detectAndParse(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--report" -> report = Path.of(value);
+                default -> applicationArgs.add(arg);
+            }
+        }
+        return new LoadTestOptions(rates, duration, warmup, mix, seedRows, target, timeout, maxInFlight, sloP99,
+                seed, report, applicationArgs);
+    }
+
+    // "get:60,list:10" - relative weights, operations left out are not sent
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2)
+                throw new IllegalArgumentException("Invalid --mix entry '" + entry + "', expected operation:weight");
+            weights.put(Operation.of(parts[0]), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,100 @@
+package com.testlab.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.testlab.SpringBootUnitTestApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+// Steps through --rates at a fixed arrival rate each, against the embedded application on H2 or an already
+// running --target, and writes a JSON report with latency percentiles per rate and operation.
+// mvn -Ploadtest verify -DskipTests [-Dloadtest.rates=500,1000] [-Dloadtest.mix=get:80,update:20]
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        ConfigurableApplicationContext context = options.target() == null ? startEmbedded(options.applicationArgs()) : null;
+        String baseUrl = context == null ? options.target() + "/api/employees"
+                : "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api/employees";
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor).build();
+            EmployeeApi api = new EmployeeApi(baseUrl, options.timeout());
+            api.seed(httpClient, options.seedRows());
+
+            OpenLoopDriver driver = new OpenLoopDriver(httpClient, api, options);
+            if (!options.warmup().isZero())
+                driver.run(options.rates().get(0), options.warmup());
+
+            List<LoadReport.StepReport> steps = new ArrayList<>();
+            Integer maxSustainedRate = null;
+            Integer saturatedAtRate = null;
+            for (int rate : options.rates()) {
+                LoadReport.StepReport step = driver.run(rate, options.duration());
+                steps.add(step);
+                print(step);
+                boolean saturated = step.goodput() < rate * 0.9
+                        || step.latencyMs().p99() > options.sloP99().toMillis();
+                if (saturated && saturatedAtRate == null)
+                    saturatedAtRate = rate;
+                else if (!saturated && saturatedAtRate == null)
+                    maxSustainedRate = rate;
+            }
+            writeReport(options, new LoadReport(settings(options), steps, maxSustainedRate, saturatedAtRate));
+            executor.shutdownNow();
+        } finally {
+            if (context != null)
+                context.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext startEmbedded(List<String> applicationArgs) {
+        Stream<String> defaults = Stream.of(
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN");
+        // arguments given to the runner override the defaults
+        return new SpringApplicationBuilder(SpringBootUnitTestApplication.class)
+                .run(Stream.concat(defaults, applicationArgs.stream()).toArray(String[]::new));
+    }
+
+    private static LoadReport.Settings settings(LoadTestOptions options) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        options.mix().forEach((operation, weight) -> mix.put(operation.key(), weight));
+        return new LoadReport.Settings(options.rates(), options.duration().toString(), options.warmup().toString(), mix,
+                options.seedRows(), options.timeout().toString(), options.maxInFlight(), options.sloP99().toString(),
+                options.seed());
+    }
+
+    private static void print(LoadReport.StepReport step) {
+        System.out.printf("%6d req/s target  %8.1f achieved  %8.1f goodput  p50 %8.3f  p99 %8.3f  p99.9 %8.3f  max %8.3f ms%n",
+                step.targetRate(), step.achievedRate(), step.goodput(), step.latencyMs().p50(), step.latencyMs().p99(),
+                step.latencyMs().p999(), step.latencyMs().max());
+    }
+
+    private static void writeReport(LoadTestOptions options, LoadReport report) throws Exception {
+        if (options.report().getParent() != null)
+            Files.createDirectories(options.report().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.report().toFile(), report);
+        System.out.println("Report written to " + options.report().toAbsolutePath());
+    }
+}
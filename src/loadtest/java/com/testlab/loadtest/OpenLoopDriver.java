@@ -0,0 +1,124 @@
+package com.testlab.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Drives one step at a fixed arrival rate. Calls are scheduled every 1/rate seconds from the start of the step,
+// whether or not earlier ones have completed (open loop), and latency is measured from the scheduled time rather
+// than from the actual send. When the server stalls, every call that should have gone out meanwhile records the
+// queueing delay it would have seen, instead of the stall showing up as a single slow sample
+// (coordinated-omission correction).
+final class OpenLoopDriver {
+
+    private final HttpClient httpClient;
+
+    private final EmployeeApi api;
+
+    private final LoadTestOptions options;
+
+    private final Operation[] operations;
+
+    private final int[] cumulativeWeights;
+
+    private final SplittableRandom random;
+
+    OpenLoopDriver(HttpClient httpClient, EmployeeApi api, LoadTestOptions options) {
+        this.httpClient = httpClient;
+        this.api = api;
+        this.options = options;
+        this.operations = options.mix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += options.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.random = new SplittableRandom(options.seed());
+    }
+
+    LoadReport.StepReport run(int rate, Duration duration) throws InterruptedException {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end)
+                break;
+            long wait = intended - System.nanoTime();
+            if (wait > 0)
+                LockSupport.parkNanos(wait);
+
+            EmployeeApi.Call call = api.next(nextOperation(), random);
+            OperationStats operationStats = stats.get(call.operation());
+            if (inFlight.get() >= options.maxInFlight()) {
+                operationStats.recordDropped();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            httpClient.sendAsync(call.request(), HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, failure) -> {
+                        long latency = System.nanoTime() - intended;
+                        if (failure != null) {
+                            operationStats.recordFailure(latency);
+                        } else {
+                            operationStats.recordResponse(response.statusCode(), latency);
+                            if (call.operation() == Operation.CREATE && response.statusCode() == 201)
+                                api.onCreated(response.body());
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+
+        // calls still outstanding are bounded by the request timeout
+        long drainDeadline = System.nanoTime() + options.timeout().toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Histogram all = new Histogram(3);
+        long completed = 0;
+        long succeeded = 0;
+        Map<String, LoadReport.OperationReport> operationReports = new LinkedHashMap<>();
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operationStats = entry.getValue();
+            if (operationStats.completed() + operationStats.dropped() == 0)
+                continue;
+            all.add(operationStats.latency());
+            completed += operationStats.completed();
+            succeeded += operationStats.succeeded();
+            operationReports.put(entry.getKey().key(), operationStats.report());
+        }
+        return new LoadReport.StepReport(rate, round(completed / elapsedSeconds), round(succeeded / elapsedSeconds),
+                OperationStats.summary(all), operationReports);
+    }
+
+    private Operation nextOperation() {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i])
+                return operations[i];
+        }
+        return operations[operations.length - 1];
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
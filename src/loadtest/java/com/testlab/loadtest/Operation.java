@@ -0,0 +1,16 @@
+package com.testlab.loadtest;
+
+import java.util.Locale;
+
+// The /api/employees calls the driver can mix; the lower-case name is used in --mix and in the report
+enum Operation {
+    CREATE, GET, LIST, UPDATE, DELETE;
+
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    static Operation of(String key) {
+        return valueOf(key.trim().toUpperCase(Locale.ROOT));
+    }
+}
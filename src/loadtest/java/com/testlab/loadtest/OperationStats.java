@@ -0,0 +1,78 @@
+package com.testlab.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Outcomes of one operation during one step. Latencies are nanoseconds from the intended send time and cover
+// every completed call, failed ones included - that is the wait a client actually sees.
+final class OperationStats {
+
+    private final Histogram latency = new ConcurrentHistogram(3);
+
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    private final LongAdder failures = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    void recordResponse(int status, long latencyNanos) {
+        statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+        latency.recordValue(latencyNanos);
+    }
+
+    void recordFailure(long latencyNanos) {
+        failures.increment();
+        latency.recordValue(latencyNanos);
+    }
+
+    // not sent because --max-in-flight calls were already outstanding
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    long succeeded() {
+        return statuses.entrySet().stream()
+                .filter(entry -> entry.getKey() < 400)
+                .mapToLong(entry -> entry.getValue().sum())
+                .sum();
+    }
+
+    long completed() {
+        return latency.getTotalCount();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    Histogram latency() {
+        return latency;
+    }
+
+    LoadReport.OperationReport report() {
+        Map<String, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(String.valueOf(status), count.sum()));
+        return new LoadReport.OperationReport(completed() + dropped(), succeeded(), statusCounts, failures.sum(),
+                dropped(), summary(latency));
+    }
+
+    static LoadReport.LatencySummary summary(Histogram histogram) {
+        if (histogram.getTotalCount() == 0)
+            return new LoadReport.LatencySummary(0, 0, 0, 0, 0, 0);
+        return new LoadReport.LatencySummary(millis(histogram.getMean()),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    // three decimals keep the report readable and stable enough to diff
+    private static double millis(double nanos) {
+        return Math.round(nanos / TimeUnit.MILLISECONDS.toNanos(1) * 1000) / 1000.0;
+    }
+}
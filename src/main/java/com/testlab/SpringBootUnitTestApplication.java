@@ -1,13 +1,41 @@
 package com.testlab;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testlab.dto.ImportSummary;
+import com.testlab.importer.EmployeeCsvImporter;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.Arrays;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class SpringBootUnitTestApplication {
 
-	public static void main(String[] args) {
+	static final String IMPORT_OPTION = "--import=";
+
+	public static void main(String[] args) throws Exception {
+		String importFile = Arrays.stream(args).filter(arg -> arg.startsWith(IMPORT_OPTION)).findFirst().orElse(null);
+		if (importFile != null) {
+			System.exit(importCsv(Path.of(importFile.substring(IMPORT_OPTION.length())), args));
+		}
 		SpringApplication.run(SpringBootUnitTestApplication.class, args);
 	}
 
+	// --import=<file.csv>: imports the file without starting the web server, prints the summary as JSON and exits
+	// with 1 when the import stopped early; run it again to resume after the last committed row
+	static int importCsv(Path file, String[] args) throws Exception {
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBootUnitTestApplication.class)
+				.web(WebApplicationType.NONE)
+				.run(args);
+		ImportSummary summary = context.getBean(EmployeeCsvImporter.class).importFile(file);
+		System.out.println(context.getBean(ObjectMapper.class).writerWithDefaultPrettyPrinter().writeValueAsString(summary));
+		return SpringApplication.exit(context, () -> summary.error() == null ? 0 : 1);
+	}
+
 }
@@ -0,0 +1,58 @@
+package com.testlab.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Only active with employee.cache.enabled=true, otherwise the @Cacheable annotations are inert
+@Configuration
+@EnableCaching
+@ConditionalOnProperty(prefix = "employee.cache", name = "enabled", havingValue = "true")
+public class CacheConfig {
+
+    public static final String EMPLOYEES_BY_ID = "employeesById";
+    public static final String EMPLOYEES_BY_EMAIL = "employeesByEmail";
+
+    @Bean
+    public CacheManager cacheManager(EmployeeProperties employeeProperties) {
+        EmployeeProperties.Cache cache = employeeProperties.getCache();
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(EMPLOYEES_BY_ID, EMPLOYEES_BY_EMAIL);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(cache.getMaximumSize())
+                .expireAfter(expiry(cache.getTtl(), cache.getNegativeTtl()))
+                .recordStats());
+        // puts and evicts of a write wait for its commit: applied inside the transaction, a concurrent read could
+        // cache the row as it was before the commit until the ttl runs out
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    //misses are stored as NullValue and expire sooner than real entries
+    private static Expiry<Object, Object> expiry(Duration ttl, Duration negativeTtl) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(Object key, Object value, long currentTime) {
+                return (value instanceof NullValue ? negativeTtl : ttl).toNanos();
+            }
+
+            @Override
+            public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.testlab.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testlab.limit.AdaptiveConcurrencyLimit;
+import com.testlab.limit.ConcurrencyLimitFilter;
+import com.testlab.limit.EndpointClass;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Only active with employee.limiter.enabled=true
+@Configuration(proxyBeanMethods = false)
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employee.limiter", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(EmployeeProperties employeeProperties,
+                                                                                 ObjectMapper objectMapper) {
+        EmployeeProperties.Limiter limiter = employeeProperties.getLimiter();
+        Map<EndpointClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(EndpointClass.class);
+        limits.put(EndpointClass.READ, limit(limiter, limiter.getRead()));
+        limits.put(EndpointClass.WRITE, limit(limiter, limiter.getWrite()));
+        limits.put(EndpointClass.BULK, limit(limiter, limiter.getBulk()));
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limits, limiter.getRetryAfter(), objectMapper));
+        registration.addUrlPatterns("/api/employees", "/api/employees/*");
+        // behind the http.server.requests observation so that shed requests are counted there, ahead of the
+        // Idempotency-Key filter so that they are not buffered first
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    // employee.limiter.limit, .in.flight and .rejected, tagged with the endpoint class
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter) {
+        return registry -> {
+            for (EndpointClass endpointClass : EndpointClass.values()) {
+                AdaptiveConcurrencyLimit limit = concurrencyLimitFilter.getFilter().getLimit(endpointClass);
+                String tag = endpointClass.name().toLowerCase();
+                Gauge.builder("employee.limiter.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                        .tag("endpoint", tag).register(registry);
+                Gauge.builder("employee.limiter.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                        .tag("endpoint", tag).register(registry);
+                FunctionCounter.builder("employee.limiter.rejected", limit, AdaptiveConcurrencyLimit::getRejected)
+                        .tag("endpoint", tag).register(registry);
+            }
+        };
+    }
+
+    private static AdaptiveConcurrencyLimit limit(EmployeeProperties.Limiter limiter, EmployeeProperties.Limit limit) {
+        return new AdaptiveConcurrencyLimit(limit.getInitialLimit(), limit.getMinLimit(), limit.getMaxLimit(),
+                limiter.getMinRttInterval(), limiter.getMinRttSamples(), limiter.getSampleWindow(), limiter.getBuffer());
+    }
+}
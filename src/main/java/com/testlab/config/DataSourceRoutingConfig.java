@@ -0,0 +1,98 @@
+package com.testlab.config;
+
+import com.testlab.datasource.ReadYourWrites;
+import com.testlab.datasource.ReadYourWritesFilter;
+import com.testlab.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Only active with employee.datasource.routing.enabled=true. The data source used by JPA and Flyway is a
+// LazyConnectionDataSourceProxy over the spring.datasource pool: connections are fetched on the first statement,
+// once @Transactional(readOnly = true) has marked them read-only, and read-only ones come from the replicas
+@Configuration(proxyBeanMethods = false)
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employee.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                      DataSourceProperties dataSourceProperties,
+                                                      EmployeeProperties employeeProperties) {
+        EmployeeProperties.Routing routing = employeeProperties.getDatasource().getRouting();
+        List<EmployeeProperties.Replica> replicas = routing.getReplicas();
+
+        Map<String, DataSource> replicaPools = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            String name = "replica-" + (i + 1);
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(replicas.get(i).getUrl())
+                    .username(replicas.get(i).getUsername())
+                    .password(replicas.get(i).getPassword())
+                    .build();
+            pool.setPoolName(name);
+            pool.setReadOnly(true);
+            pool.setConnectionTimeout(routing.getConnectionTimeout().toMillis());
+            // a replica that is down on startup is skipped until the health check sees it, it must not fail the boot
+            pool.setInitializationFailTimeout(-1);
+            replicaPools.put(name, pool);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaPools, routing.getHealthCheckInterval());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+
+    // picked up by the auto-configured transaction manager; beforeCommit so that the after-commit listeners of the
+    // same write (search index reload) already read from the primary
+    @Bean
+    public TransactionExecutionListener readYourWritesListener(EmployeeProperties employeeProperties) {
+        Duration window = employeeProperties.getDatasource().getRouting().getReadYourWritesWindow();
+        return new TransactionExecutionListener() {
+            @Override
+            public void beforeCommit(TransactionExecution transaction) {
+                if (!transaction.isReadOnly())
+                    ReadYourWrites.markWrite(window);
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(EmployeeProperties employeeProperties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(employeeProperties.getDatasource().getRouting().getReadYourWritesWindow()));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,185 @@
+package com.testlab.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "employee")
+public class EmployeeProperties {
+
+    private final Batch batch = new Batch();
+
+    private final Cache cache = new Cache();
+
+    private final Datasource datasource = new Datasource();
+
+    private final Ingest ingest = new Ingest();
+
+    private final Events events = new Events();
+
+    private final Snapshot snapshot = new Snapshot();
+
+    private final Import importer = new Import();
+
+    private final Idempotency idempotency = new Idempotency();
+
+    private final Limiter limiter = new Limiter();
+
+    @Data
+    public static class Batch {
+        //rows per JDBC insert batch and per email uniqueness IN query
+        private int size = 500;
+    }
+
+    @Data
+    public static class Cache {
+        //read-through cache in front of lookups by id and by email
+        private boolean enabled = false;
+        private long maximumSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(5);
+        //lifetime of cached "not found" results
+        private Duration negativeTtl = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Datasource {
+        private final Routing routing = new Routing();
+    }
+
+    @Data
+    public static class Routing {
+        //read-only transactions go to the replicas, everything else to spring.datasource
+        private boolean enabled = false;
+        private List<Replica> replicas = new ArrayList<>();
+        private Duration healthCheckInterval = Duration.ofSeconds(5);
+        //how long a replica may block a read before the next one (or the primary) is tried
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+        //reads stay on the primary this long after a write, in the same request and (primary-until cookie) the
+        //client's next ones; should cover the replication lag
+        private Duration readYourWritesWindow = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+
+    @Data
+    public static class Ingest {
+        //POST /api/employees with "Prefer: respond-async" is queued and written behind in batches
+        private boolean enabled = false;
+        //pending creates before requests get 429
+        private int queueCapacity = 10_000;
+        private int maxBatch = 500;
+        //how long the writer waits for a batch to fill up once the first create is queued
+        private Duration maxWait = Duration.ofMillis(20);
+        private int maxAttempts = 3;
+        //how long the outcome of a ticket stays available
+        private Duration ticketTtl = Duration.ofMinutes(10);
+        //on shutdown: time to write what is queued, the rest is spilled to spillFile and queued again on startup
+        private Duration drainTimeout = Duration.ofSeconds(30);
+        private Path spillFile = Path.of("employee-ingest-spill.ndjson");
+    }
+
+    @Data
+    public static class Events {
+        //writes append to the employee_outbox table, GET /api/employees/events streams it as server-sent events
+        private boolean enabled = false;
+        //how often the outbox is polled for rows committed by other instances, local commits are relayed at once
+        private Duration pollInterval = Duration.ofMillis(500);
+        //outbox rows read per query, also the most rows replayed to one subscriber per poll
+        private int batchSize = 500;
+        //events buffered per subscriber, a subscriber that falls further behind is disconnected
+        private int bufferCapacity = 1_000;
+        private int maxSubscribers = 10_000;
+        //threads writing the buffered events to the subscribers' connections
+        private int senderThreads = 4;
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+        //lifetime of one stream, clients reconnect with Last-Event-ID
+        private Duration streamTimeout = Duration.ofMinutes(30);
+        //how long an outbox id skipped by the stream (a transaction still committing) is looked for again
+        private Duration gapTimeout = Duration.ofSeconds(30);
+        //how far back Last-Event-ID can resume
+        private Duration retention = Duration.ofDays(1);
+    }
+
+    @Data
+    public static class Snapshot {
+        //GET /api/employees is served from a pre-encoded copy of the list held in direct buffers
+        private boolean enabled = false;
+        //how long after it was taken a snapshot may still be served once it is known (or may be) out of date
+        private Duration maxStaleness = Duration.ofSeconds(1);
+        //keep a gzipped copy for clients sending Accept-Encoding: gzip
+        private boolean gzip = true;
+    }
+
+    @Data
+    public static class Import {
+        //CSV rows validated and inserted per transaction, also how often the checkpoint advances
+        private int commitInterval = 5_000;
+        //rejected rows listed in the import summary, the counts cover all of them
+        private int maxRejectedSamples = 100;
+    }
+
+    @Data
+    public static class Idempotency {
+        //POST and PATCH requests carrying an Idempotency-Key run once, retries get the stored response
+        private boolean enabled = false;
+        //memory for a single instance, jdbc (employee_idempotency_key table) when several instances share the keys
+        private Store store = Store.MEMORY;
+        //how long a key and its response are kept
+        private Duration ttl = Duration.ofHours(24);
+        //independently locked partitions of the memory store
+        private int stripes = 64;
+        //memory store: the oldest keys are dropped beyond this
+        private int maxKeys = 1_000_000;
+        //how long a retry waits for the first request with its key before it gets 409
+        private Duration waitTimeout = Duration.ofSeconds(10);
+        //jdbc store: how often a waiting retry looks for the response of another instance
+        private Duration pollInterval = Duration.ofMillis(100);
+        //bodies are buffered to fingerprint them
+        private DataSize maxBodySize = DataSize.ofMegabytes(1);
+
+        public enum Store {
+            MEMORY, JDBC
+        }
+    }
+
+    @Data
+    public static class Limiter {
+        //adaptive concurrency limits in front of /api/employees, requests over the limit get 503 with Retry-After
+        private boolean enabled = false;
+        //how long the idle latency takes to follow a backend that got slower
+        private Duration minRttInterval = Duration.ofSeconds(10);
+        //answers a window needs before it moves the limit
+        private int minRttSamples = 25;
+        //the limit is recomputed from the p90 latency of each window
+        private Duration sampleWindow = Duration.ofMillis(100);
+        //latency above the idle one that is not taken for queueing
+        private double buffer = 0.25;
+        private Duration retryAfter = Duration.ofSeconds(1);
+        private final Limit read = new Limit(50, 4, 400);
+        private final Limit write = new Limit(20, 2, 200);
+        //batch, import, export and multi-id delete
+        private final Limit bulk = new Limit(2, 1, 8);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+    }
+}
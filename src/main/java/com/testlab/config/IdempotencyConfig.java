@@ -0,0 +1,48 @@
+package com.testlab.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testlab.idempotency.IdempotencyFilter;
+import com.testlab.idempotency.IdempotencyStore;
+import com.testlab.idempotency.JdbcIdempotencyStore;
+import com.testlab.idempotency.StripedIdempotencyStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+
+// Only active with employee.idempotency.enabled=true; employee.idempotency.store picks the backend
+@Configuration(proxyBeanMethods = false)
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employee.idempotency", name = "enabled", havingValue = "true")
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "employee.idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+    public StripedIdempotencyStore memoryIdempotencyStore(EmployeeProperties employeeProperties) {
+        EmployeeProperties.Idempotency idempotency = employeeProperties.getIdempotency();
+        return new StripedIdempotencyStore(idempotency.getStripes(), idempotency.getTtl(), idempotency.getMaxKeys());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "employee.idempotency", name = "store", havingValue = "jdbc")
+    public JdbcIdempotencyStore jdbcIdempotencyStore(DataSource dataSource, ObjectMapper objectMapper,
+                                                     EmployeeProperties employeeProperties) {
+        EmployeeProperties.Idempotency idempotency = employeeProperties.getIdempotency();
+        return new JdbcIdempotencyStore(dataSource, objectMapper, idempotency.getTtl(), idempotency.getPollInterval(),
+                idempotency.getWaitTimeout());
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore idempotencyStore,
+                                                                       ObjectMapper objectMapper,
+                                                                       EmployeeProperties employeeProperties) {
+        EmployeeProperties.Idempotency idempotency = employeeProperties.getIdempotency();
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(new IdempotencyFilter(
+                idempotencyStore, objectMapper, idempotency.getWaitTimeout(), idempotency.getMaxBodySize().toBytes()));
+        registration.addUrlPatterns("/api/employees", "/api/employees/*");
+        return registration;
+    }
+}
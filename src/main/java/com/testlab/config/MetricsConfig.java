@@ -0,0 +1,17 @@
+package com.testlab.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Repository timers (spring.data.repository.invocations) and Hikari pool gauges are auto-configured by actuator;
+// this adds the aspect behind @Timed for the service layer
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -1,21 +1,50 @@
 package com.testlab.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.testlab.dto.BatchItemResult;
+import com.testlab.dto.DeleteResult;
+import com.testlab.dto.EmployeeListVersion;
+import com.testlab.dto.EmployeePage;
+import com.testlab.dto.EmployeePatch;
+import com.testlab.dto.EmployeeView;
+import com.testlab.exception.PreconditionFailedException;
 import com.testlab.model.Employee;
 import com.testlab.service.EmployeeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/employees")
 public class EmployeeController {
 
+    static final int MAX_PAGE_SIZE = 1000;
+
+    static final int MAX_SEARCH_RESULTS = 100;
+
     private EmployeeService employeeService;
 
-    public EmployeeController(EmployeeService employeeService) {
+    private ObjectMapper objectMapper;
+
+    public EmployeeController(EmployeeService employeeService, ObjectMapper objectMapper) {
         this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -24,37 +53,130 @@ public class EmployeeController {
         return employeeService.saveEmployee(employee);
     }
 
+    @PostMapping("batch")
+    @ResponseStatus(HttpStatus.OK)
+    public List<BatchItemResult> createEmployees(@RequestBody List<Employee> employees){
+        return employeeService.saveEmployees(employees);
+    }
+
+    // the fingerprint is read before the list, so a write in between can only make the ETag older than the body
+    // and the next poll gets a fresh 200 - never a 304 for a body the client has not seen
     @GetMapping
+    public ResponseEntity<List<EmployeeView>> getAllEmployees(WebRequest request){
+        String currentETag = eTag(employeeService.getEmployeeListVersion());
+        if (request.checkNotModified(currentETag))
+            return null;
+        return ResponseEntity.ok().eTag(currentETag).body(employeeService.getAllEmployees());
+    }
+
+    @GetMapping(params = "limit")
     @ResponseStatus(HttpStatus.OK)
-    public List<Employee> getAllEmployees(){
-        return employeeService.getAllEmployees();
+    public EmployeePage getEmployeesPage(@RequestParam(value = "after", required = false) String after,
+                                         @RequestParam("limit") int limit){
+        long afterId;
+        try {
+            afterId = after == null ? 0L : EmployeePage.decodeCursor(after);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + after);
+        }
+
+        Slice<EmployeeView> slice = employeeService.getEmployeesAfter(afterId, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        List<EmployeeView> content = slice.getContent();
+        String nextCursor = slice.hasNext() ? EmployeePage.encodeCursor(content.get(content.size() - 1).id()) : null;
+        return new EmployeePage(content, nextCursor);
     }
 
+    // type-ahead: prefix, case-insensitive and typo-tolerant over first name, last name and email
+    @GetMapping("search")
+    public List<EmployeeView> searchEmployees(@RequestParam("q") String query,
+                                              @RequestParam(value = "limit", defaultValue = "20") int limit){
+        return employeeService.searchEmployees(query, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+    }
+
+    @GetMapping(value = "export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployees(){
+        ObjectWriter writer = objectMapper.writerFor(EmployeeView.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                employeeService.exportEmployees(employee -> {
+                    try {
+                        writer.writeValue(generator, employee);
+                        generator.writeRaw('\n');
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // a matching If-None-Match is answered with 304 by the return value handler before the body is serialized
     @GetMapping("{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") long employeeId){
+    public ResponseEntity<EmployeeView> getEmployeeById(@PathVariable("id") long employeeId){
         return employeeService.getEmployeeById(employeeId)
-                .map(ResponseEntity::ok)
+                .map(employee -> ResponseEntity.ok().eTag(eTag(employee)).body(employee))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PutMapping("{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long empId,@RequestBody Employee employee){
-        return employeeService.getEmployeeById(empId)
-                .map(savedEmployee -> {
-                    savedEmployee.setFirstName(employee.getFirstName());
-                    savedEmployee.setLastName(employee.getLastName());
-                    savedEmployee.setEmail(employee.getEmail());
-
-                    Employee updatedEmp = employeeService.updateEmployee(savedEmployee);
-                    return new ResponseEntity<>(updatedEmp, HttpStatus.OK);
-                })
+    public ResponseEntity<EmployeeView> updateEmployee(@PathVariable("id") long empId,@RequestBody Employee employee,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        return employeeService.updateEmployee(empId, employee, expectedVersion(empId, ifMatch))
+                .map(updated -> updated.version() == null
+                        ? ResponseEntity.ok().body(updated)
+                        : ResponseEntity.ok().eTag(eTag(updated)).body(updated))
                 .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 
+    @PatchMapping("{id}")
+    public ResponseEntity<Void> patchEmployee(@PathVariable("id") long empId,@RequestBody EmployeePatch patch,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        return employeeService.patchEmployee(empId, patch, expectedVersion(empId, ifMatch))
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
     }
 
     @DeleteMapping("{id}")
-    public ResponseEntity<String> deleteEmployee(@PathVariable("id") long id){
-        employeeService.deleteEmployee(id);
+    public ResponseEntity<String> deleteEmployee(@PathVariable("id") long id,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        if (!employeeService.deleteEmployee(id, expectedVersion(id, ifMatch)))
+            return ResponseEntity.notFound().build();
         return new ResponseEntity<String>("Employee deleted successfully!", HttpStatus.NO_CONTENT);
     }
+
+    // ?ids=1,1 asks for one employee, so requested counts distinct ids like the delete itself
+    @DeleteMapping(params = "ids")
+    public ResponseEntity<DeleteResult> deleteEmployees(@RequestParam("ids") List<Long> ids){
+        List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        int deleted = employeeService.deleteEmployees(distinctIds);
+        return ResponseEntity.ok(new DeleteResult(distinctIds.size(), deleted));
+    }
+
+    static String eTag(EmployeeView employee) {
+        return "\"" + employee.version() + "\"";
+    }
+
+    static String eTag(EmployeeListVersion listVersion) {
+        return "\"" + listVersion.count() + "-" + listVersion.maxId() + "-" + listVersion.versionSum() + "\"";
+    }
+
+    // If-Match: * (or no header) is unconditional; otherwise it has to be the strong ETag of one version,
+    // weak or unknown tags can never match (RFC 9110 13.1.1)
+    static Long expectedVersion(long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*"))
+            return null;
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through to 412
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + tag + " does not name a version of employee " + id);
+    }
 }
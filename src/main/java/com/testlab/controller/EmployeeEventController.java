@@ -0,0 +1,36 @@
+package com.testlab.controller;
+
+import com.testlab.outbox.EmployeeEventRelay;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Change feed, only mapped with employee.events.enabled=true. Each event carries its outbox id, a reconnecting
+// client (EventSource does this by itself) sends the last one back as Last-Event-ID and gets what it missed first.
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employee.events", name = "enabled", havingValue = "true")
+@RequestMapping("/api/employees")
+public class EmployeeEventController {
+
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private EmployeeEventRelay eventRelay;
+
+    public EmployeeEventController(EmployeeEventRelay eventRelay) {
+        this.eventRelay = eventRelay;
+    }
+
+    @GetMapping(value = "events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(@RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventId){
+        SseEmitter emitter = eventRelay.subscribe(lastEventId);
+        if (emitter == null)
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        return ResponseEntity.ok().header(HttpHeaders.CACHE_CONTROL, "no-store").body(emitter);
+    }
+}
@@ -0,0 +1,48 @@
+package com.testlab.controller;
+
+import com.testlab.exception.EmployeeConflictException;
+import com.testlab.exception.PreconditionFailedException;
+import com.testlab.exception.ResourceNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.net.URI;
+
+// Domain exceptions as RFC 7807 problem details, for the servlet and the reactive controllers alike. Answered
+// straight from the handler method: no error page dispatch, no error attribute map, no stack trace rendering.
+// Malformed requests (400) are rendered the same way by spring.mvc/webflux.problemdetails.
+@RestControllerAdvice
+public class EmployeeExceptionHandler {
+
+    static final URI EMAIL_CONFLICT = URI.create("/problems/employee-email-conflict");
+
+    static final URI NOT_FOUND = URI.create("/problems/employee-not-found");
+
+    static final URI VERSION_MISMATCH = URI.create("/problems/employee-version-mismatch");
+
+    @ExceptionHandler(EmployeeConflictException.class)
+    public ProblemDetail handleConflict(EmployeeConflictException ex) {
+        ProblemDetail problem = problem(HttpStatus.CONFLICT, EMAIL_CONFLICT, "Employee already exists", ex.getMessage());
+        problem.setProperty("email", ex.getEmail());
+        return problem;
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ProblemDetail handleNotFound(ResourceNotFoundException ex) {
+        return problem(HttpStatus.NOT_FOUND, NOT_FOUND, "Employee not found", ex.getMessage());
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ProblemDetail handlePreconditionFailed(PreconditionFailedException ex) {
+        return problem(HttpStatus.PRECONDITION_FAILED, VERSION_MISMATCH, "Employee version mismatch", ex.getMessage());
+    }
+
+    private static ProblemDetail problem(HttpStatus status, URI type, String title, String detail) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, detail);
+        problem.setType(type);
+        problem.setTitle(title);
+        return problem;
+    }
+}
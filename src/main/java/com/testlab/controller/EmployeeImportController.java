@@ -0,0 +1,34 @@
+package com.testlab.controller;
+
+import com.testlab.dto.ImportSummary;
+import com.testlab.importer.EmployeeCsvImporter;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// Bulk CSV import. The request body is parsed while it is still arriving; a client whose upload broke off
+// re-sends the file with skip=<committedRows> of the summary it got, or of the last checkpoint it knows.
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/employees")
+public class EmployeeImportController {
+
+    static final String TEXT_CSV = "text/csv";
+
+    private EmployeeCsvImporter csvImporter;
+
+    public EmployeeImportController(EmployeeCsvImporter csvImporter) {
+        this.csvImporter = csvImporter;
+    }
+
+    @PostMapping(value = "import", consumes = TEXT_CSV)
+    public ResponseEntity<ImportSummary> importEmployees(InputStream csv,
+                                                         @RequestParam(value = "skip", defaultValue = "0") long skip) throws IOException {
+        ImportSummary summary = csvImporter.importCsv(csv, EmployeeCsvImporter.ImportOptions.skip(Math.max(0, skip)));
+        return ResponseEntity.status(summary.error() == null ? HttpStatus.OK : HttpStatus.BAD_REQUEST).body(summary);
+    }
+}
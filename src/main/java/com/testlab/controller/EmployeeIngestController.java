@@ -0,0 +1,66 @@
+package com.testlab.controller;
+
+import com.testlab.dto.IngestTicket;
+import com.testlab.ingest.EmployeeIngestQueue;
+import com.testlab.model.Employee;
+import com.testlab.service.EmployeeService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+// Asynchronous creates, only mapped with employee.ingest.enabled=true. A POST carrying a Prefer header is routed
+// here instead of EmployeeController#createEmployee; "respond-async" (RFC 7240) queues it, any other preference
+// gets the usual synchronous create.
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employee.ingest", name = "enabled", havingValue = "true")
+@RequestMapping("/api/employees")
+public class EmployeeIngestController {
+
+    static final String PREFER = "Prefer";
+
+    private EmployeeService employeeService;
+
+    private EmployeeIngestQueue ingestQueue;
+
+    public EmployeeIngestController(EmployeeService employeeService, EmployeeIngestQueue ingestQueue) {
+        this.employeeService = employeeService;
+        this.ingestQueue = ingestQueue;
+    }
+
+    @PostMapping(headers = PREFER)
+    public ResponseEntity<?> createEmployee(@RequestBody Employee employee, @RequestHeader(PREFER) String prefer){
+        if (!prefersAsync(prefer))
+            return ResponseEntity.status(HttpStatus.CREATED).body(employeeService.saveEmployee(employee));
+
+        IngestTicket ticket = ingestQueue.submit(employee);
+        if (ticket == null) {
+            HttpStatus status = ingestQueue.isAccepting() ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+            return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/api/employees/ingest/{ticket}").buildAndExpand(ticket.ticket()).toUri())
+                .header("Preference-Applied", "respond-async")
+                .body(ticket);
+    }
+
+    @GetMapping("ingest/{ticket}")
+    public ResponseEntity<IngestTicket> getTicket(@PathVariable("ticket") String ticket){
+        return ingestQueue.getTicket(ticket)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    static boolean prefersAsync(String prefer) {
+        for (String preference : prefer.split("[,;]")) {
+            if (preference.trim().equalsIgnoreCase("respond-async"))
+                return true;
+        }
+        return false;
+    }
+}
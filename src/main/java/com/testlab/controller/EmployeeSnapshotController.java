@@ -0,0 +1,81 @@
+package com.testlab.controller;
+
+import com.testlab.snapshot.EmployeeListSnapshot;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+// JSON list from the pre-encoded snapshot, only mapped with employee.snapshot.enabled=true. Being the more specific
+// mapping it takes GET /api/employees for JSON clients; CBOR / Smile and the paged variant stay on EmployeeController.
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employee.snapshot", name = "enabled", havingValue = "true")
+@RequestMapping("/api/employees")
+public class EmployeeSnapshotController {
+
+    private EmployeeListSnapshot listSnapshot;
+
+    public EmployeeSnapshotController(EmployeeListSnapshot listSnapshot) {
+        this.listSnapshot = listSnapshot;
+    }
+
+    // the bytes are written as they are, no message converter is involved
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public void getAllEmployees(ServletWebRequest request, HttpServletResponse response) throws IOException {
+        EmployeeListSnapshot.Snapshot snapshot = listSnapshot.get();
+        boolean gzip = snapshot.hasGzip() && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String eTag = eTag(snapshot, gzip);
+        if (request.checkNotModified(eTag))
+            return;
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip)
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.setContentLengthLong(gzip ? snapshot.gzipLength() : snapshot.jsonLength());
+
+        List<ByteBuffer> body = gzip ? snapshot.gzip() : snapshot.json();
+        WritableByteChannel channel = Channels.newChannel(response.getOutputStream());
+        for (ByteBuffer chunk : body) {
+            ByteBuffer remaining = chunk.duplicate();
+            while (remaining.hasRemaining())
+                channel.write(remaining);
+        }
+    }
+
+    // the gzipped body is another representation and gets its own strong ETag
+    static String eTag(EmployeeListSnapshot.Snapshot snapshot, boolean gzip) {
+        String eTag = EmployeeController.eTag(snapshot.version());
+        return gzip ? eTag.substring(0, eTag.length() - 1) + "-gzip\"" : eTag;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null)
+            return false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip"))
+                continue;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().replace(" ", "");
+                if (parameter.equals("q=0") || parameter.matches("q=0\\.0*"))
+                    return false;
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,139 @@
+package com.testlab.controller;
+
+import com.testlab.dto.BatchItemResult;
+import com.testlab.dto.DeleteResult;
+import com.testlab.dto.EmployeePage;
+import com.testlab.dto.EmployeePatch;
+import com.testlab.dto.EmployeeView;
+import com.testlab.model.Employee;
+import com.testlab.service.ReactiveEmployeeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+// Same /api/employees contract as EmployeeController, served on the event loop under --spring.profiles.active=reactive:
+// ETags, If-Match preconditions and their 412/304 answers behave the same; /search is a case-insensitive prefix
+// match in SQL and, unlike the servlet stack's in-memory index, not typo-tolerant
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/employees")
+public class ReactiveEmployeeController {
+
+    private ReactiveEmployeeService employeeService;
+
+    public ReactiveEmployeeController(ReactiveEmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Employee> createEmployee(@RequestBody Employee employee){
+        return employeeService.saveEmployee(employee);
+    }
+
+    @PostMapping("batch")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<List<BatchItemResult>> createEmployees(@RequestBody List<Employee> employees){
+        return employeeService.saveEmployees(employees).collectList();
+    }
+
+    // fingerprint first, then the rows, as in EmployeeController; on a matching If-None-Match the result handler
+    // answers 304 and never subscribes to the body
+    @GetMapping
+    public Mono<ResponseEntity<Flux<EmployeeView>>> getAllEmployees(){
+        return employeeService.getEmployeeListVersion()
+                .map(listVersion -> ResponseEntity.ok()
+                        .eTag(EmployeeController.eTag(listVersion))
+                        .body(employeeService.getAllEmployees()));
+    }
+
+    // one JSON document per line, written as rows arrive and paced by the client's demand
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EmployeeView> streamAllEmployees(){
+        return employeeService.getAllEmployees();
+    }
+
+    @GetMapping(params = "limit")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<EmployeePage> getEmployeesPage(@RequestParam(value = "after", required = false) String after,
+                                               @RequestParam("limit") int limit){
+        long afterId;
+        try {
+            afterId = after == null ? 0L : EmployeePage.decodeCursor(after);
+        } catch (IllegalArgumentException ex) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + after));
+        }
+
+        // one extra row tells whether there is a next page
+        int pageSize = Math.max(1, Math.min(limit, EmployeeController.MAX_PAGE_SIZE));
+        return employeeService.getEmployeesAfter(afterId, pageSize + 1)
+                .collectList()
+                .map(rows -> {
+                    if (rows.size() <= pageSize)
+                        return new EmployeePage(rows, null);
+                    List<EmployeeView> content = rows.subList(0, pageSize);
+                    return new EmployeePage(content, EmployeePage.encodeCursor(content.get(pageSize - 1).id()));
+                });
+    }
+
+    @GetMapping("search")
+    public Flux<EmployeeView> searchEmployees(@RequestParam("q") String query,
+                                              @RequestParam(value = "limit", defaultValue = "20") int limit){
+        return employeeService.searchEmployees(query,
+                Math.max(1, Math.min(limit, EmployeeController.MAX_SEARCH_RESULTS)));
+    }
+
+    @GetMapping(value = "export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EmployeeView> exportEmployees(){
+        return employeeService.getAllEmployees();
+    }
+
+    @GetMapping("{id}")
+    public Mono<ResponseEntity<EmployeeView>> getEmployeeById(@PathVariable("id") long employeeId){
+        return employeeService.getEmployeeById(employeeId)
+                .map(employee -> ResponseEntity.ok().eTag(EmployeeController.eTag(employee)).body(employee))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("{id}")
+    public Mono<ResponseEntity<EmployeeView>> updateEmployee(@PathVariable("id") long empId,@RequestBody Employee employee,
+                                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        return employeeService.updateEmployee(empId, employee, EmployeeController.expectedVersion(empId, ifMatch))
+                .map(updated -> ResponseEntity.ok().eTag(EmployeeController.eTag(updated)).body(updated))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PatchMapping("{id}")
+    public Mono<ResponseEntity<Void>> patchEmployee(@PathVariable("id") long empId,@RequestBody EmployeePatch patch,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        return employeeService.patchEmployee(empId, patch, EmployeeController.expectedVersion(empId, ifMatch))
+                .map(patched -> patched
+                        ? ResponseEntity.noContent().<Void>build()
+                        : ResponseEntity.notFound().<Void>build());
+    }
+
+    @DeleteMapping("{id}")
+    public Mono<ResponseEntity<Void>> deleteEmployee(@PathVariable("id") long id,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        return employeeService.deleteEmployee(id, EmployeeController.expectedVersion(id, ifMatch))
+                .map(deleted -> deleted
+                        ? ResponseEntity.noContent().<Void>build()
+                        : ResponseEntity.notFound().<Void>build());
+    }
+
+    @DeleteMapping(params = "ids")
+    public Mono<DeleteResult> deleteEmployees(@RequestParam("ids") List<Long> ids){
+        List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        return employeeService.deleteEmployees(distinctIds)
+                .map(deleted -> new DeleteResult(distinctIds.size(), deleted.intValue()));
+    }
+}
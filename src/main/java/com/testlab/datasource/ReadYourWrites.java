@@ -0,0 +1,53 @@
+package com.testlab.datasource;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+// Per-thread routing hints for ReplicaRoutingDataSource. A committed write keeps the thread's reads on the primary
+// for a short window (replication lag), so follow-up reads such as the search index reload after a patch see it;
+// a pinned thread (request sent with X-Consistency: strong) reads from the primary until it is cleared.
+// The hints die with the request; ReadYourWritesFilter listens for writes to hand the window to the client.
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Long> PRIMARY_UNTIL = new ThreadLocal<>();
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private static final ThreadLocal<Consumer<Duration>> WRITE_LISTENER = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void markWrite(Duration window) {
+        PRIMARY_UNTIL.set(System.nanoTime() + window.toNanos());
+        Consumer<Duration> listener = WRITE_LISTENER.get();
+        if (listener != null)
+            listener.accept(window);
+    }
+
+    public static void onWrite(Consumer<Duration> listener) {
+        WRITE_LISTENER.set(listener);
+    }
+
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static boolean isActive() {
+        if (PINNED.get() != null)
+            return true;
+        Long primaryUntil = PRIMARY_UNTIL.get();
+        if (primaryUntil == null)
+            return false;
+        if (System.nanoTime() - primaryUntil < 0)
+            return true;
+        PRIMARY_UNTIL.remove();
+        return false;
+    }
+
+    public static void clear() {
+        PRIMARY_UNTIL.remove();
+        PINNED.remove();
+        WRITE_LISTENER.remove();
+    }
+}
@@ -0,0 +1,73 @@
+package com.testlab.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Pins the reads of requests sent with "X-Consistency: strong" to the primary, and makes sure no routing hint
+// outlives the request on the pooled servlet thread. A write answers with a cookie holding the wall-clock end of
+// its read-your-writes window, so the client's next requests (POST, then GET /{id}) still read from the primary
+// until the replicas have caught up.
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String CONSISTENCY_HEADER = "X-Consistency";
+
+    public static final String PRIMARY_UNTIL_COOKIE = "primary-until";
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if ("strong".equalsIgnoreCase(request.getHeader(CONSISTENCY_HEADER)))
+            ReadYourWrites.pin();
+        else
+            restoreWindow(request);
+        // the write commits inside the handler, before the body is written, so the header can still be added
+        ReadYourWrites.onWrite(window -> {
+            if (!response.isCommitted())
+                response.addHeader(HttpHeaders.SET_COOKIE, primaryUntilCookie(window).toString());
+        });
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+
+    // capped at the configured window, a forged cookie can't keep a client on the primary
+    private void restoreWindow(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, PRIMARY_UNTIL_COOKIE);
+        if (cookie == null)
+            return;
+        try {
+            long remainingMillis = Long.parseLong(cookie.getValue()) - System.currentTimeMillis();
+            if (remainingMillis > 0)
+                ReadYourWrites.markWrite(Duration.ofMillis(Math.min(remainingMillis, window.toMillis())));
+        } catch (NumberFormatException ignored) {
+            // a mangled cookie only loses the hint
+        }
+    }
+
+    private static ResponseCookie primaryUntilCookie(Duration window) {
+        return ResponseCookie.from(PRIMARY_UNTIL_COOKIE, Long.toString(System.currentTimeMillis() + window.toMillis()))
+                .path("/api")
+                .maxAge(Duration.ofSeconds(window.toSeconds() + 1))
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.testlab.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Read-only side of the routing: LazyConnectionDataSourceProxy hands the connections of read-only transactions to
+// this data source, which round-robins them over the healthy replicas. A replica that fails to hand out a connection
+// is taken out of rotation until the background health check sees it valid again; with no healthy replica, or when
+// the thread has to read its own writes (ReadYourWrites), the connection comes from the primary.
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final ScheduledExecutorService healthCheck;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration healthCheckInterval) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream().map(entry -> new Replica(entry.getKey(), entry.getValue())).toList();
+        this.healthCheck = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("replica-health-check").daemon().factory());
+        long intervalMillis = healthCheckInterval.toMillis();
+        this.healthCheck.scheduleWithFixedDelay(this::checkReplicas, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReadYourWrites.isActive()) {
+            for (int attempt = 0; attempt < replicas.size(); attempt++) {
+                Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+                if (!replica.healthy)
+                    continue;
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException ex) {
+                    replica.markDown(ex);
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("replica credentials are configured per replica");
+    }
+
+    public List<String> getHealthyReplicas() {
+        return replicas.stream().filter(replica -> replica.healthy).map(replica -> replica.name).toList();
+    }
+
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(1))
+                    replica.markUp();
+                else
+                    replica.markDown(null);
+            } catch (SQLException | RuntimeException ex) {
+                replica.markDown(ex);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        healthCheck.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable)
+                closeable.close();
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+
+        private final DataSource dataSource;
+
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private void markDown(Exception cause) {
+            if (healthy)
+                log.warn("Replica {} taken out of rotation: {}", name, cause == null ? "connection not valid" : cause.getMessage());
+            healthy = false;
+        }
+
+        private void markUp() {
+            if (!healthy)
+                log.info("Replica {} back in rotation", name);
+            healthy = true;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.testlab.dto;
+
+// Outcome of one element of a bulk create request, reported in request order
+public record BatchItemResult(int index, BatchItemStatus status, Long id, String email, String message) {
+
+    public static BatchItemResult created(int index, long id, String email) {
+        return new BatchItemResult(index, BatchItemStatus.CREATED, id, email, null);
+    }
+
+    public static BatchItemResult duplicate(int index, String email) {
+        return new BatchItemResult(index, BatchItemStatus.DUPLICATE, null, email, "Employee already exists with given email: " + email);
+    }
+
+    public static BatchItemResult invalid(int index, String email, String message) {
+        return new BatchItemResult(index, BatchItemStatus.INVALID, null, email, message);
+    }
+}
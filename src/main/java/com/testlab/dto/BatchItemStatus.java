@@ -0,0 +1,7 @@
+package com.testlab.dto;
+
+public enum BatchItemStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID
+}
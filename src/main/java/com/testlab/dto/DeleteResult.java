@@ -0,0 +1,4 @@
+package com.testlab.dto;
+
+public record DeleteResult(int requested, int deleted) {
+}
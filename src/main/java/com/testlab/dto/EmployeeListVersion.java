@@ -0,0 +1,7 @@
+package com.testlab.dto;
+
+// Fingerprint of the whole table for the ETag of GET /api/employees: an insert raises maxId, a delete lowers
+// count and an update raises versionSum, so any committed write changes it. One aggregate over the primary key,
+// far cheaper than loading and serializing the list to find out nothing changed.
+public record EmployeeListVersion(long count, long maxId, long versionSum) {
+}
@@ -0,0 +1,21 @@
+package com.testlab.dto;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+
+// One keyset page of employees; nextCursor is null on the last page
+public record EmployeePage(List<EmployeeView> content, String nextCursor) {
+
+    public static String encodeCursor(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(lastId).array());
+    }
+
+    public static long decodeCursor(String cursor) {
+        byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+        if (bytes.length != Long.BYTES)
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+}
@@ -0,0 +1,9 @@
+package com.testlab.dto;
+
+// Partial update - null fields are left untouched
+public record EmployeePatch(String firstName, String lastName, String email) {
+
+    public boolean isEmpty() {
+        return firstName == null && lastName == null && email == null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.testlab.dto;
+
+import com.testlab.model.Employee;
+
+// Read model returned by the GET endpoints: built by a JPQL constructor expression, so Hibernate never
+// creates a managed entity or a dirty-checking snapshot for it. Serializes to the same JSON as Employee;
+// version is the optimistic-locking column and doubles as the ETag; null after a PUT without If-Match, which
+// does not read the row back.
+public record EmployeeView(long id, String firstName, String lastName, String email, Long version) {
+
+    public static EmployeeView of(Employee employee) {
+        return new EmployeeView(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                employee.getVersion());
+    }
+}
@@ -0,0 +1,13 @@
+package com.testlab.dto;
+
+import java.util.List;
+
+// Outcome of a CSV import. Row numbers count data rows from 1 (the header is not a row); committedRows is the last
+// row whose transaction went through, an interrupted import resumes after it. error is set when the import stopped
+// early, e.g. on malformed CSV.
+public record ImportSummary(long rowsRead, long skipped, long created, long duplicates, long invalid,
+                            long committedRows, List<RejectedRow> rejections, String error) {
+
+    public record RejectedRow(long row, String email, String reason) {
+    }
+}
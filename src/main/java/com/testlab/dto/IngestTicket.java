@@ -0,0 +1,21 @@
+package com.testlab.dto;
+
+// State of a create accepted with 202 by the write-behind queue, served by GET /api/employees/ingest/{ticket}
+public record IngestTicket(String ticket, Status status, Long id, String message) {
+
+    public enum Status {
+        PENDING, CREATED, DUPLICATE, INVALID, FAILED
+    }
+
+    public static IngestTicket pending(String ticket) {
+        return new IngestTicket(ticket, Status.PENDING, null, null);
+    }
+
+    public static IngestTicket of(String ticket, BatchItemResult result) {
+        return new IngestTicket(ticket, Status.valueOf(result.status().name()), result.id(), result.message());
+    }
+
+    public static IngestTicket failed(String ticket, String message) {
+        return new IngestTicket(ticket, Status.FAILED, null, message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.testlab.event;
+
+import com.testlab.dto.EmployeeView;
+
+// Published by EmployeeServiceImpl for every committed-or-committing write; employee is null when only the id is
+// known (partial updates, deletes) and listeners that need the row must read it themselves
+public record EmployeeChangedEvent(Type type, long id, EmployeeView employee) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static EmployeeChangedEvent created(EmployeeView employee) {
+        return new EmployeeChangedEvent(Type.CREATED, employee.id(), employee);
+    }
+
+    public static EmployeeChangedEvent updated(EmployeeView employee) {
+        return new EmployeeChangedEvent(Type.UPDATED, employee.id(), employee);
+    }
+
+    public static EmployeeChangedEvent patched(long id) {
+        return new EmployeeChangedEvent(Type.UPDATED, id, null);
+    }
+
+    public static EmployeeChangedEvent deleted(long id) {
+        return new EmployeeChangedEvent(Type.DELETED, id, null);
+    }
+}
@@ -0,0 +1,17 @@
+package com.testlab.exception;
+
+// Another employee already has the email. Expected on every replayed create, so it is built without a stack trace
+// and mapped to 409 by EmployeeExceptionHandler. cause is the violated unique constraint.
+public class EmployeeConflictException extends RuntimeException{
+
+    private final String email;
+
+    public EmployeeConflictException(String email, Throwable cause){
+        super("Employee already exists with given email: " + email, cause, false, false);
+        this.email = email;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,14 @@
+package com.testlab.exception;
+
+// If-Match did not name the current version of the employee, the write was not applied; mapped to 412 by
+// EmployeeExceptionHandler and, like every lost compare-and-set, common enough to skip the stack trace
+public class PreconditionFailedException extends RuntimeException{
+
+    public PreconditionFailedException(String msg){
+        super(msg, null, false, false);
+    }
+
+    public PreconditionFailedException(long id, long expectedVersion, long currentVersion){
+        this("Employee " + id + " is at version " + currentVersion + ", If-Match expected " + expectedVersion);
+    }
+}
@@ -1,12 +1,13 @@
 package com.testlab.exception;
 
+// mapped to 404 by EmployeeExceptionHandler; the message says what is missing, a stack trace would add nothing
 public class ResourceNotFoundException extends RuntimeException{
 
     public ResourceNotFoundException(String msg){
-        super(msg);
+        super(msg, null, false, false);
     }
 
     public ResourceNotFoundException(String message, Throwable cause){
-        super(message, cause);
+        super(message, cause, false, false);
     }
 }
@@ -0,0 +1,253 @@
+package com.testlab.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Idempotency-Key for POST and PATCH (draft-ietf-httpapi-idempotency-key-header). The first request with a key
+// runs and its response is stored; retries get that response again, marked Idempotent-Replayed, and retries that
+// arrive while it is still running wait for it rather than running a second time. A key is scoped to method and
+// path, reusing it for another payload is 422. Server errors and 429 are not stored, the next retry runs again.
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    static final String REPLAYED = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final Set<String> UNRECORDED_HEADERS = Set.of("date", "set-cookie", "transfer-encoding",
+            "content-length", "content-type");
+
+    private final IdempotencyStore store;
+
+    private final ObjectMapper objectMapper;
+
+    private final Duration waitTimeout;
+
+    private final long maxBodySize;
+
+    public IdempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper, Duration waitTimeout, long maxBodySize) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.waitTimeout = waitTimeout;
+        this.maxBodySize = maxBodySize;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(IDEMPOTENCY_KEY) == null
+                || !(request.getMethod().equals("POST") || request.getMethod().equals("PATCH"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            problem(response, HttpStatus.BAD_REQUEST, IDEMPOTENCY_KEY + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes((int) Math.min(Integer.MAX_VALUE - 8, maxBodySize + 1));
+        if (body.length > maxBodySize) {
+            problem(response, HttpStatus.PAYLOAD_TOO_LARGE, "Requests with an " + IDEMPOTENCY_KEY
+                    + " are limited to " + maxBodySize + " bytes");
+            return;
+        }
+
+        String key = request.getMethod() + " " + request.getRequestURI() + " " + idempotencyKey;
+        String fingerprint = fingerprint(request.getContentType(), body);
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            IdempotencyStore.Claim claim = store.claim(key, fingerprint);
+            if (claim instanceof IdempotencyStore.Acquired) {
+                execute(key, new CachedBodyRequest(request, body), response, filterChain);
+                return;
+            }
+            if (claim instanceof IdempotencyStore.Full) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                problem(response, HttpStatus.SERVICE_UNAVAILABLE, "Too many requests with an " + IDEMPOTENCY_KEY
+                        + " in flight");
+                return;
+            }
+
+            String storedFingerprint = claim instanceof IdempotencyStore.Completed completed
+                    ? completed.fingerprint() : ((IdempotencyStore.InFlight) claim).fingerprint();
+            if (!storedFingerprint.equals(fingerprint)) {
+                problem(response, HttpStatus.UNPROCESSABLE_ENTITY, IDEMPOTENCY_KEY + " " + idempotencyKey
+                        + " was already used for a different request");
+                return;
+            }
+            if (claim instanceof IdempotencyStore.Completed completed) {
+                replay(completed.response(), response);
+                return;
+            }
+
+            StoredResponse stored;
+            try {
+                stored = ((IdempotencyStore.InFlight) claim).result()
+                        .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                problem(response, HttpStatus.CONFLICT, "A request with " + IDEMPOTENCY_KEY + " " + idempotencyKey
+                        + " is still being processed");
+                return;
+            } catch (ExecutionException ex) {
+                stored = null;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                problem(response, HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for " + idempotencyKey);
+                return;
+            }
+            if (stored != null) {
+                replay(stored, response);
+                return;
+            }
+            // the first request failed and gave the key up, this one may run it
+        }
+    }
+
+    private void execute(String key, HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper recorder = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, recorder);
+        } catch (ServletException | IOException | RuntimeException ex) {
+            store.release(key);
+            throw ex;
+        }
+
+        int status = recorder.getStatus();
+        if (status >= 500 || status == HttpStatus.TOO_MANY_REQUESTS.value())
+            store.release(key);
+        else
+            store.complete(key, new StoredResponse(status, headers(recorder), recorder.getContentAsByteArray()));
+        recorder.copyBodyToResponse();
+    }
+
+    private static Map<String, List<String>> headers(HttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        if (response.getContentType() != null)
+            headers.put(HttpHeaders.CONTENT_TYPE, List.of(response.getContentType()));
+        for (String name : response.getHeaderNames()) {
+            if (!UNRECORDED_HEADERS.contains(name.toLowerCase()))
+                headers.put(name, new ArrayList<>(response.getHeaders(name)));
+        }
+        return headers;
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        stored.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(REPLAYED, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void problem(HttpServletResponse response, HttpStatus status, String detail) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ProblemDetail.forStatusAndDetail(status, detail));
+    }
+
+    static String fingerprint(String contentType, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            if (contentType != null)
+                digest.update(contentType.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    // the body was read to fingerprint it, the rest of the chain reads this copy
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] bytes, int offset, int length) {
+                    return input.read(bytes, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.testlab.idempotency;
+
+import java.util.concurrent.CompletableFuture;
+
+// Claims an Idempotency-Key for the request that gets to run, and hands the outcome to every later request with
+// the same key. fingerprint identifies the payload, a key reused for a different one is the caller's to reject.
+public interface IdempotencyStore {
+
+    sealed interface Claim permits Acquired, InFlight, Completed, Full {
+    }
+
+    // the caller runs the request and must end with complete() or release()
+    record Acquired() implements Claim {
+    }
+
+    // result completes with the stored response, or with null when the owner released the key
+    record InFlight(String fingerprint, CompletableFuture<StoredResponse> result) implements Claim {
+    }
+
+    record Completed(String fingerprint, StoredResponse response) implements Claim {
+    }
+
+    // no room for another key until requests in flight finish, the request must not run without one
+    record Full() implements Claim {
+    }
+
+    Claim claim(String key, String fingerprint);
+
+    void complete(String key, StoredResponse response);
+
+    // the request failed without an answer worth repeating, the next one with the key runs again
+    void release(String key);
+}
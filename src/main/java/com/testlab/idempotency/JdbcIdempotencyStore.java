@@ -0,0 +1,162 @@
+package com.testlab.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Shared store for several instances, on the employee_idempotency_key table: the primary key decides which request
+// owns a key, the row keeps the response once it is there. Requests waiting for another instance poll the row.
+// Statements run on their own auto-commit connections, outside of the request's transactions.
+@Slf4j
+public class JdbcIdempotencyStore implements IdempotencyStore, DisposableBean {
+
+    private static final TypeReference<Map<String, List<String>>> HEADERS = new TypeReference<>() {
+    };
+
+    private record Row(String fingerprint, Integer status, String headers, byte[] body, Instant expiresAt) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final Duration ttl;
+
+    private final Duration pollInterval;
+
+    private final Duration maxWait;
+
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+            .name("idempotency-key-poller").daemon().factory());
+
+    public JdbcIdempotencyStore(DataSource dataSource, ObjectMapper objectMapper, Duration ttl, Duration pollInterval,
+                                Duration maxWait) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.pollInterval = pollInterval;
+        this.maxWait = maxWait;
+        this.poller.scheduleWithFixedDelay(this::prune, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public Claim claim(String key, String fingerprint) {
+        // a second attempt covers a row that expired or was released between the insert and the select
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                jdbcTemplate.update("insert into employee_idempotency_key (idempotency_key, fingerprint, expires_at) "
+                        + "values (:key, :fingerprint, :expiresAt)", new MapSqlParameterSource()
+                        .addValue("key", key)
+                        .addValue("fingerprint", fingerprint)
+                        .addValue("expiresAt", Timestamp.from(Instant.now().plus(ttl))));
+                return new Acquired();
+            } catch (DuplicateKeyException ex) {
+                Optional<Row> row = find(key);
+                if (row.isEmpty())
+                    continue;
+                if (row.get().expiresAt().isBefore(Instant.now())) {
+                    jdbcTemplate.update("delete from employee_idempotency_key where idempotency_key = :key "
+                            + "and expires_at < :now", Map.of("key", key, "now", Timestamp.from(Instant.now())));
+                    continue;
+                }
+                if (row.get().status() != null)
+                    return new Completed(row.get().fingerprint(), response(row.get()));
+                return new InFlight(row.get().fingerprint(), poll(key));
+            }
+        }
+        return new InFlight(fingerprint, poll(key));
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        String headers;
+        try {
+            headers = objectMapper.writeValueAsString(response.headers());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize the headers of " + key, ex);
+        }
+        jdbcTemplate.update("update employee_idempotency_key set status = :status, headers = :headers, body = :body "
+                + "where idempotency_key = :key", new MapSqlParameterSource()
+                .addValue("status", response.status())
+                .addValue("headers", headers)
+                .addValue("body", response.body())
+                .addValue("key", key));
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update("delete from employee_idempotency_key where idempotency_key = :key", Map.of("key", key));
+    }
+
+    // completes with the response, with null once the row is gone, and is left to the caller's timeout after maxWait
+    private CompletableFuture<StoredResponse> poll(String key) {
+        CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        Runnable check = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Optional<Row> row = find(key);
+                    if (row.isEmpty())
+                        result.complete(null);
+                    else if (row.get().status() != null)
+                        result.complete(response(row.get()));
+                    else if (System.nanoTime() - deadline < 0)
+                        poller.schedule(this, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (RuntimeException ex) {
+                    result.completeExceptionally(ex);
+                }
+            }
+        };
+        poller.schedule(check, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    private Optional<Row> find(String key) {
+        return jdbcTemplate.query("select fingerprint, status, headers, body, expires_at from employee_idempotency_key "
+                        + "where idempotency_key = :key", Map.of("key", key),
+                (rs, rowNum) -> new Row(rs.getString("fingerprint"), rs.getObject("status", Integer.class),
+                        rs.getString("headers"), rs.getBytes("body"), rs.getTimestamp("expires_at").toInstant()))
+                .stream().findFirst();
+    }
+
+    private StoredResponse response(Row row) {
+        try {
+            Map<String, List<String>> headers = row.headers() == null ? Map.of() : objectMapper.readValue(row.headers(), HEADERS);
+            return new StoredResponse(row.status(), headers, row.body() == null ? new byte[0] : row.body());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot read the stored headers", ex);
+        }
+    }
+
+    private void prune() {
+        try {
+            jdbcTemplate.update("delete from employee_idempotency_key where expires_at < :now",
+                    Map.of("now", Timestamp.from(Instant.now())));
+        } catch (RuntimeException ex) {
+            log.warn("Pruning expired idempotency keys failed", ex);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        poller.shutdownNow();
+    }
+}
@@ -0,0 +1,8 @@
+package com.testlab.idempotency;
+
+import java.util.List;
+import java.util.Map;
+
+// What the first request with an Idempotency-Key answered, replayed as-is to its retries
+public record StoredResponse(int status, Map<String, List<String>> headers, byte[] body) {
+}
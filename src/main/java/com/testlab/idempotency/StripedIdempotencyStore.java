@@ -0,0 +1,141 @@
+package com.testlab.idempotency;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+// In-memory store for a single instance. Keys are spread over independently locked stripes, so two requests only
+// contend when their keys hash to the same stripe. Every key lives for the same ttl, which makes the insertion
+// order of a stripe its expiry order: expired completed keys (and, past maxKeys, the oldest completed ones) are
+// dropped from the head of the stripe when a new key is claimed, with no sweeper thread. Keys in flight are kept
+// whatever their age; a stripe full of them refuses new keys.
+public class StripedIdempotencyStore implements IdempotencyStore {
+
+    private static final Acquired ACQUIRED = new Acquired();
+
+    private static final Full FULL = new Full();
+
+    private final Stripe[] stripes;
+
+    private final int mask;
+
+    private final long ttlNanos;
+
+    private final int maxKeysPerStripe;
+
+    public StripedIdempotencyStore(int stripes, Duration ttl, int maxKeys) {
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++)
+            this.stripes[i] = new Stripe();
+        this.mask = size - 1;
+        this.ttlNanos = ttl.toNanos();
+        this.maxKeysPerStripe = Math.max(1, maxKeys / size);
+    }
+
+    @Override
+    public Claim claim(String key, String fingerprint) {
+        Stripe stripe = stripe(key);
+        long now = System.nanoTime();
+        stripe.lock.lock();
+        try {
+            Entry entry = stripe.entries.get(key);
+            if (entry != null && entry.result.isDone() && entry.expiresAt - now <= 0) {
+                stripe.entries.remove(key);
+                entry = null;
+            }
+            if (entry != null) {
+                if (entry.result.isDone())
+                    return new Completed(entry.fingerprint, entry.result.getNow(null));
+                return new InFlight(entry.fingerprint, entry.result);
+            }
+            if (!stripe.evict(now, maxKeysPerStripe))
+                return FULL;
+            stripe.entries.put(key, new Entry(fingerprint, now + ttlNanos));
+            return ACQUIRED;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        Entry entry = entry(key, false);
+        if (entry != null)
+            entry.result.complete(response);
+    }
+
+    @Override
+    public void release(String key) {
+        Entry entry = entry(key, true);
+        if (entry != null)
+            entry.result.complete(null);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.entries.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    // waiters are woken outside of the stripe lock
+    private Entry entry(String key, boolean remove) {
+        Stripe stripe = stripe(key);
+        stripe.lock.lock();
+        try {
+            return remove ? stripe.entries.remove(key) : stripe.entries.get(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe stripe(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+        // makes room for one more key: drops expired and, past maxKeys, the oldest completed keys. A key still in
+        // flight is never dropped, its retries would run the request a second time; false when they fill the stripe
+        private boolean evict(long now, int maxKeys) {
+            Iterator<Entry> oldest = entries.values().iterator();
+            while (oldest.hasNext()) {
+                Entry entry = oldest.next();
+                boolean expired = entry.expiresAt - now <= 0;
+                if (!expired && entries.size() < maxKeys)
+                    return true;
+                if (entry.result.isDone())
+                    oldest.remove();
+            }
+            return entries.size() < maxKeys;
+        }
+    }
+
+    private static final class Entry {
+
+        private final String fingerprint;
+
+        private final long expiresAt;
+
+        private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+
+        private Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.testlab.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.testlab.config.EmployeeProperties;
+import com.testlab.dto.BatchItemResult;
+import com.testlab.dto.BatchItemStatus;
+import com.testlab.dto.ImportSummary;
+import com.testlab.model.Employee;
+import com.testlab.service.EmployeeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+// Bulk import of CSV with a header row naming firstName, lastName and email (any order, case, "_" or spaces).
+// The input is parsed as a stream and handled commitInterval rows at a time: the rows of a chunk are normalized
+// and validated in parallel, then saveEmployees inserts the valid ones in one transaction, checking their emails
+// against the table in batch.size chunks. Memory stays bounded by one chunk plus the rejected-row samples,
+// whatever the size of the file; emails repeated across chunks are caught by the committed rows.
+@Slf4j
+@Component
+@Profile("!reactive")
+public class EmployeeCsvImporter {
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final int MAX_LENGTH = 255;
+
+    // where to start, where to record progress and where to write every rejected row; the paths may be null
+    public record ImportOptions(long skipRows, Path checkpointFile, Path rejectsFile) {
+
+        public static ImportOptions skip(long skipRows) {
+            return new ImportOptions(skipRows, null, null);
+        }
+    }
+
+    private record Row(long number, Employee employee, String reason) {
+    }
+
+    private final ObjectReader rowReader = new CsvMapper()
+            .readerForMapOf(String.class)
+            .with(CsvSchema.emptySchema().withHeader())
+            .with(CsvParser.Feature.SKIP_EMPTY_LINES)
+            .with(CsvParser.Feature.IGNORE_TRAILING_UNMAPPABLE);
+
+    private EmployeeService employeeService;
+
+    private EmployeeProperties.Import properties;
+
+    public EmployeeCsvImporter(EmployeeService employeeService, EmployeeProperties employeeProperties) {
+        this.employeeService = employeeService;
+        this.properties = employeeProperties.getImporter();
+    }
+
+    // resumes after <file>.checkpoint when a previous run was interrupted, rejected rows go to <file>.rejected.csv
+    public ImportSummary importFile(Path file) throws IOException {
+        Path checkpointFile = file.resolveSibling(file.getFileName() + ".checkpoint");
+        Path rejectsFile = file.resolveSibling(file.getFileName() + ".rejected.csv");
+        long committedRows = Files.exists(checkpointFile)
+                ? Long.parseLong(Files.readString(checkpointFile, StandardCharsets.UTF_8).trim()) : 0;
+        if (committedRows > 0)
+            log.info("Resuming import of {} after row {}", file, committedRows);
+
+        ImportSummary summary;
+        try (InputStream csv = Files.newInputStream(file)) {
+            summary = importCsv(csv, new ImportOptions(committedRows, checkpointFile, rejectsFile));
+        }
+        if (summary.error() == null)
+            Files.deleteIfExists(checkpointFile);
+        return summary;
+    }
+
+    public ImportSummary importCsv(InputStream csv, ImportOptions options) throws IOException {
+        int commitInterval = Math.max(1, properties.getCommitInterval());
+        Summary summary = new Summary(options.skipRows(), properties.getMaxRejectedSamples());
+
+        try (Writer rejects = openRejects(options.rejectsFile(), options.skipRows() > 0);
+             MappingIterator<Map<String, String>> rows = rowReader.readValues(csv)) {
+            List<Map<String, String>> chunk = new ArrayList<>(commitInterval);
+            long firstRow = options.skipRows() + 1;
+            long rowNumber = 0;
+            try {
+                while (rows.hasNextValue()) {
+                    Map<String, String> row = rows.nextValue();
+                    if (++rowNumber <= options.skipRows())
+                        continue;
+                    summary.rowsRead++;
+                    chunk.add(row);
+                    if (chunk.size() == commitInterval) {
+                        importChunk(chunk, firstRow, summary, rejects, options.checkpointFile());
+                        firstRow += chunk.size();
+                        chunk.clear();
+                    }
+                }
+                importChunk(chunk, firstRow, summary, rejects, options.checkpointFile());
+            } catch (JsonProcessingException ex) {
+                // rows up to committedRows are in, the caller can resume after them
+                log.warn("Import stopped after row {}", summary.committedRows, ex);
+                summary.error = "Malformed CSV after row " + rowNumber + ": " + ex.getMessage();
+            }
+        }
+        return summary.toImportSummary();
+    }
+
+    private void importChunk(List<Map<String, String>> chunk, long firstRow, Summary summary, Writer rejects,
+                             Path checkpointFile) throws IOException {
+        if (chunk.isEmpty())
+            return;
+
+        List<Row> validated = IntStream.range(0, chunk.size()).parallel()
+                .mapToObj(i -> validate(firstRow + i, chunk.get(i)))
+                .toList();
+
+        List<Employee> employees = new ArrayList<>(validated.size());
+        List<Row> accepted = new ArrayList<>(validated.size());
+        for (Row row : validated) {
+            if (row.reason() == null) {
+                employees.add(row.employee());
+                accepted.add(row);
+            }
+        }
+
+        // nothing of the chunk is counted or reported before its transaction commits, a resumed import repeats it
+        List<BatchItemResult> results = employees.isEmpty() ? List.of() : employeeService.saveEmployees(employees);
+        for (Row row : validated) {
+            if (row.reason() != null) {
+                summary.invalid++;
+                summary.reject(row, row.reason(), rejects);
+            }
+        }
+        for (int i = 0; i < results.size(); i++) {
+            BatchItemResult result = results.get(i);
+            if (result.status() == BatchItemStatus.CREATED) {
+                summary.created++;
+            } else if (result.status() == BatchItemStatus.DUPLICATE) {
+                summary.duplicates++;
+                summary.reject(accepted.get(i), "duplicate email", rejects);
+            } else {
+                summary.invalid++;
+                summary.reject(accepted.get(i), result.message(), rejects);
+            }
+        }
+
+        summary.committedRows = firstRow + chunk.size() - 1;
+        if (rejects != null)
+            rejects.flush();
+        if (checkpointFile != null)
+            writeCheckpoint(checkpointFile, summary.committedRows);
+    }
+
+    static Row validate(long number, Map<String, String> columns) {
+        String firstName = null;
+        String lastName = null;
+        String email = null;
+        for (Map.Entry<String, String> column : columns.entrySet()) {
+            switch (headerKey(column.getKey())) {
+                case "firstname" -> firstName = normalizeName(column.getValue());
+                case "lastname" -> lastName = normalizeName(column.getValue());
+                case "email" -> email = column.getValue() == null ? null : column.getValue().trim().toLowerCase(Locale.ROOT);
+                default -> {
+                    // unknown columns are ignored
+                }
+            }
+        }
+
+        Employee employee = Employee.builder().firstName(firstName).lastName(lastName).email(email).build();
+        String reason;
+        if (firstName == null)
+            reason = "firstName is required";
+        else if (email == null || email.isEmpty())
+            reason = "email is required";
+        else if (!EMAIL.matcher(email).matches())
+            reason = "email is not valid";
+        else if (firstName.length() > MAX_LENGTH || email.length() > MAX_LENGTH
+                || (lastName != null && lastName.length() > MAX_LENGTH))
+            reason = "values are limited to " + MAX_LENGTH + " characters";
+        else
+            reason = null;
+        return new Row(number, employee, reason);
+    }
+
+    private static String headerKey(String header) {
+        return header == null ? "" : header.replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalizeName(String value) {
+        if (value == null || value.isBlank())
+            return null;
+        return WHITESPACE.matcher(value.trim()).replaceAll(" ");
+    }
+
+    private static Writer openRejects(Path rejectsFile, boolean append) throws IOException {
+        if (rejectsFile == null)
+            return null;
+        BufferedWriter writer = Files.newBufferedWriter(rejectsFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        if (!append)
+            writer.write("row,email,reason\n");
+        return writer;
+    }
+
+    // temp file and atomic move, so a crash leaves the previous checkpoint or the new one, never half of it
+    private static void writeCheckpoint(Path checkpointFile, long committedRows) throws IOException {
+        Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        Files.writeString(temp, Long.toString(committedRows), StandardCharsets.UTF_8);
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static final class Summary {
+
+        private final long skipped;
+
+        private final int maxSamples;
+
+        private final List<ImportSummary.RejectedRow> samples = new ArrayList<>();
+
+        private long rowsRead;
+
+        private long created;
+
+        private long duplicates;
+
+        private long invalid;
+
+        private long committedRows;
+
+        private String error;
+
+        private Summary(long skipped, int maxSamples) {
+            this.skipped = skipped;
+            this.maxSamples = maxSamples;
+            this.committedRows = skipped;
+        }
+
+        private void reject(Row row, String reason, Writer rejects) throws IOException {
+            String email = row.employee() == null ? null : row.employee().getEmail();
+            if (samples.size() < maxSamples)
+                samples.add(new ImportSummary.RejectedRow(row.number(), email, reason));
+            if (rejects != null)
+                rejects.write(row.number() + "," + csvValue(email) + "," + csvValue(reason) + "\n");
+        }
+
+        private static String csvValue(String value) {
+            if (value == null)
+                return "";
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+
+        private ImportSummary toImportSummary() {
+            return new ImportSummary(rowsRead, skipped, created, duplicates, invalid, committedRows,
+                    List.copyOf(samples), error);
+        }
+    }
+}
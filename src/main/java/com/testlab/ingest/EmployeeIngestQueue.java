@@ -0,0 +1,297 @@
+package com.testlab.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testlab.config.EmployeeProperties;
+import com.testlab.dto.BatchItemResult;
+import com.testlab.dto.IngestTicket;
+import com.testlab.model.Employee;
+import com.testlab.service.EmployeeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Write-behind queue for creates accepted with 202. Request threads only reserve a slot (CAS on the size counter)
+// and append to a lock-free queue; a single writer thread drains it, waits up to maxWait for a batch to fill and
+// hands each batch to saveEmployees, so N creates cost one uniqueness query and one JDBC batch instead of N
+// transactions. The outcome of each create is kept under its ticket for ticketTtl.
+// On graceful shutdown (after the web server has stopped taking requests) the writer gets drainTimeout to empty
+// the queue; whatever is left is spilled to spillFile and queued again on the next start. Replays are safe: the
+// unique email turns a create that did commit before the spill into DUPLICATE. A crash loses the queue.
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employee.ingest", name = "enabled", havingValue = "true")
+public class EmployeeIngestQueue implements SmartLifecycle {
+
+    record Pending(String ticket, Employee employee) {
+    }
+
+    private record Completed(String ticket, long expiresAt) {
+    }
+
+    private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final Map<String, IngestTicket> tickets = new ConcurrentHashMap<>();
+
+    // completion order is expiry order, so eviction only ever looks at the head
+    private final Queue<Completed> completed = new ConcurrentLinkedQueue<>();
+
+    private EmployeeService employeeService;
+
+    private EmployeeProperties.Ingest properties;
+
+    private ObjectMapper objectMapper;
+
+    private volatile boolean accepting;
+
+    private volatile boolean stopping;
+
+    private volatile boolean running;
+
+    private volatile boolean writerIdle;
+
+    private volatile long drainDeadline;
+
+    private volatile Thread writer;
+
+    // the batch the writer has taken off the queue and not yet completed, spilled with the queue on shutdown
+    private volatile List<Pending> current = List.of();
+
+    public EmployeeIngestQueue(EmployeeService employeeService, EmployeeProperties employeeProperties,
+                               ObjectMapper objectMapper) {
+        this.employeeService = employeeService;
+        this.properties = employeeProperties.getIngest();
+        this.objectMapper = objectMapper;
+    }
+
+    // null when the queue is full or shutting down
+    public IngestTicket submit(Employee employee) {
+        if (!accepting)
+            return null;
+        int queued;
+        do {
+            queued = size.get();
+            if (queued >= properties.getQueueCapacity())
+                return null;
+        } while (!size.compareAndSet(queued, queued + 1));
+
+        IngestTicket ticket = IngestTicket.pending(UUID.randomUUID().toString());
+        tickets.put(ticket.ticket(), ticket);
+        queue.offer(new Pending(ticket.ticket(), employee));
+        if (writerIdle)
+            LockSupport.unpark(writer);
+        return ticket;
+    }
+
+    public boolean isAccepting() {
+        return accepting;
+    }
+
+    public Optional<IngestTicket> getTicket(String ticket) {
+        return Optional.ofNullable(tickets.get(ticket));
+    }
+
+    public int getQueued() {
+        return size.get();
+    }
+
+    @Override
+    public void start() {
+        replaySpill();
+        stopping = false;
+        running = true;
+        accepting = true;
+        writer = Thread.ofPlatform().name("employee-ingest-writer").start(this::writeLoop);
+    }
+
+    @Override
+    public void stop() {
+        accepting = false;
+        drainDeadline = System.nanoTime() + properties.getDrainTimeout().toNanos();
+        stopping = true;
+        Thread writerThread = writer;
+        try {
+            LockSupport.unpark(writerThread);
+            writerThread.join(properties.getDrainTimeout().plusSeconds(1).toMillis());
+            if (writerThread.isAlive()) {
+                writerThread.interrupt();
+                writerThread.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        spill();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // lower than the web server phases, so this starts before and stops after request handling
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>(properties.getMaxBatch());
+        while (!Thread.currentThread().isInterrupted()) {
+            if (stopping && (queue.isEmpty() || System.nanoTime() - drainDeadline >= 0))
+                return;
+            collect(batch);
+            if (!batch.isEmpty()) {
+                current = List.copyOf(batch);
+                batch.clear();
+                if (!write(current))
+                    return;
+                current = List.of();
+            }
+            evictExpiredTickets();
+        }
+    }
+
+    private void collect(List<Pending> batch) {
+        long lingerUntil = 0;
+        while (batch.size() < properties.getMaxBatch()) {
+            Pending next = queue.poll();
+            if (next != null) {
+                size.decrementAndGet();
+                batch.add(next);
+                if (lingerUntil == 0)
+                    lingerUntil = System.nanoTime() + properties.getMaxWait().toNanos();
+                continue;
+            }
+            if (stopping)
+                return;
+            long now = System.nanoTime();
+            if (!batch.isEmpty() && now - lingerUntil >= 0)
+                return;
+            // idle wake-ups every 100ms keep ticket eviction going on a quiet queue
+            long parkNanos = batch.isEmpty() ? TimeUnit.MILLISECONDS.toNanos(100) : lingerUntil - now;
+            writerIdle = true;
+            if (queue.isEmpty())
+                LockSupport.parkNanos(this, parkNanos);
+            writerIdle = false;
+            if (batch.isEmpty() && queue.isEmpty())
+                return;
+        }
+    }
+
+    // false when the writer has to give up on the batch because it is being stopped, the batch is then spilled
+    private boolean write(List<Pending> batch) {
+        List<Employee> employees = batch.stream().map(Pending::employee).toList();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                List<BatchItemResult> results = employeeService.saveEmployees(employees);
+                for (int i = 0; i < batch.size(); i++) {
+                    complete(IngestTicket.of(batch.get(i).ticket(), results.get(i)));
+                }
+                return true;
+            } catch (RuntimeException ex) {
+                if (Thread.currentThread().isInterrupted() || (stopping && System.nanoTime() - drainDeadline >= 0))
+                    return false;
+                if (attempt >= properties.getMaxAttempts()) {
+                    log.warn("Dropping {} queued creates after {} attempts: {}", batch.size(), attempt, ex.getMessage());
+                    batch.forEach(pending -> complete(IngestTicket.failed(pending.ticket(), ex.getMessage())));
+                    return true;
+                }
+                try {
+                    Thread.sleep(100L * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+    }
+
+    private void complete(IngestTicket ticket) {
+        tickets.put(ticket.ticket(), ticket);
+        completed.offer(new Completed(ticket.ticket(), System.nanoTime() + properties.getTicketTtl().toNanos()));
+    }
+
+    private void evictExpiredTickets() {
+        long now = System.nanoTime();
+        Completed head;
+        while ((head = completed.peek()) != null && now - head.expiresAt() >= 0) {
+            completed.poll();
+            tickets.remove(head.ticket());
+        }
+    }
+
+    private void spill() {
+        List<Pending> remaining = new ArrayList<>(current);
+        Pending next;
+        while ((next = queue.poll()) != null) {
+            size.decrementAndGet();
+            remaining.add(next);
+        }
+        current = List.of();
+        if (remaining.isEmpty())
+            return;
+
+        Path spillFile = properties.getSpillFile().toAbsolutePath();
+        try {
+            Path temp = Files.createTempFile(spillFile.getParent(), spillFile.getFileName().toString(), ".tmp");
+            try (BufferedWriter out = Files.newBufferedWriter(temp)) {
+                for (Pending pending : remaining) {
+                    out.write(objectMapper.writeValueAsString(pending));
+                    out.newLine();
+                }
+            }
+            Files.move(temp, spillFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.warn("Spilled {} queued creates to {}", remaining.size(), spillFile);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not spill " + remaining.size() + " queued creates", ex);
+        }
+    }
+
+    // spilled creates keep their tickets and go ahead of anything new; the capacity does not apply to them
+    private void replaySpill() {
+        Path spillFile = properties.getSpillFile().toAbsolutePath();
+        if (!Files.exists(spillFile))
+            return;
+        int replayed = 0;
+        try (BufferedReader in = Files.newBufferedReader(spillFile)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank())
+                    continue;
+                Pending pending = objectMapper.readValue(line, Pending.class);
+                tickets.put(pending.ticket(), IngestTicket.pending(pending.ticket()));
+                queue.offer(pending);
+                size.incrementAndGet();
+                replayed++;
+            }
+            Files.delete(spillFile);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not replay " + spillFile, ex);
+        }
+        log.info("Queued {} creates spilled by the previous shutdown", replayed);
+    }
+}
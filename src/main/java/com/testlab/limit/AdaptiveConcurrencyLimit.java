@@ -0,0 +1,151 @@
+package com.testlab.limit;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Concurrency limit that follows the latency of the requests it lets through (gradient controller, TCP Vegas style).
+// Every sampleWindow the p90 round trip time is compared with the no-load one: limit = limit * gradient + sqrt(limit)
+// with gradient = minRtt * (1 + buffer) / p90, so the limit shrinks as soon as requests queue (in MySQL, in the
+// connection pool) and grows again once they don't. Requests past the limit are refused up front, the admitted ones
+// keep their latency instead of all of them timing out together.
+// The no-load latency is the fastest answer of a window: a faster one lowers minRtt at once, a slower one pulls it up
+// over about minRttInterval, which picks up a backend that got slower for good. The limit itself is never dropped
+// to re-measure, so steady traffic isn't shed on a schedule. A window needs minRttSamples answers to count.
+public class AdaptiveConcurrencyLimit {
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private static final double MAX_GRADIENT = 2.0;
+
+    // multiplicative decrease when a request failed in the backend
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long minRttIntervalNanos;
+
+    private final int minRttSamples;
+
+    private final long sampleWindowNanos;
+
+    private final double buffer;
+
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile int limit;
+
+    // guarded by this
+    private double estimatedLimit;
+
+    private long minRtt;
+
+    private long windowStartedAt;
+
+    private long windowEndsAt;
+
+    private long[] samples = new long[64];
+
+    private int sampleCount;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, Duration minRttInterval,
+                                    int minRttSamples, Duration sampleWindow, double buffer) {
+        this(initialLimit, minLimit, maxLimit, minRttInterval, minRttSamples, sampleWindow, buffer, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, Duration minRttInterval, int minRttSamples,
+                             Duration sampleWindow, double buffer, LongSupplier nanoClock) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.minRttIntervalNanos = minRttInterval.toNanos();
+        this.minRttSamples = Math.max(1, minRttSamples);
+        this.sampleWindowNanos = sampleWindow.toNanos();
+        this.buffer = buffer;
+        this.nanoClock = nanoClock;
+        this.estimatedLimit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+        this.windowStartedAt = nanoClock.getAsLong();
+        this.windowEndsAt = windowStartedAt + sampleWindowNanos;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1))
+                return true;
+        }
+    }
+
+    // rttNanos of a request that got its answer from the backend
+    public void onSuccess(long rttNanos) {
+        inFlight.decrementAndGet();
+        sample(Math.max(1, rttNanos));
+    }
+
+    // the backend failed or timed out, latency can't tell how overloaded it is so the limit backs off outright
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * DROP_BACKOFF);
+            limit = (int) estimatedLimit;
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public synchronized Duration getMinRtt() {
+        return Duration.ofNanos(minRtt);
+    }
+
+    private synchronized void sample(long rtt) {
+        long now = nanoClock.getAsLong();
+        record(rtt);
+        if (now - windowEndsAt < 0 || sampleCount < minRttSamples)
+            return;
+        long fastest = percentile(0);
+        if (minRtt == 0 || fastest < minRtt)
+            minRtt = fastest;
+        else
+            minRtt += (long) ((fastest - minRtt) * Math.min(1.0, (now - windowStartedAt) / (double) minRttIntervalNanos));
+        double gradient = Math.max(MIN_GRADIENT, Math.min(MAX_GRADIENT, minRtt * (1 + buffer) / percentile(0.9)));
+        double newLimit = estimatedLimit * gradient;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit + Math.sqrt(newLimit)));
+        limit = (int) estimatedLimit;
+        sampleCount = 0;
+        windowStartedAt = now;
+        windowEndsAt = now + sampleWindowNanos;
+    }
+
+    private void record(long rtt) {
+        if (sampleCount == samples.length)
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        samples[sampleCount++] = rtt;
+    }
+
+    private long percentile(double percentile) {
+        Arrays.sort(samples, 0, sampleCount);
+        return samples[(int) Math.min(sampleCount - 1, Math.floor(sampleCount * percentile))];
+    }
+}
@@ -0,0 +1,133 @@
+package com.testlab.limit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Sheds load before it reaches a Tomcat worker's controller call or a pooled connection: a request over the limit
+// of its endpoint class gets a 503 with Retry-After right away. Admitted requests report their latency back to the
+// limit when the response is complete, for streamed responses (export) that is when the async request ends.
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Map<EndpointClass, AdaptiveConcurrencyLimit> limits;
+
+    private final String retryAfter;
+
+    // the same answer for every rejected request, serialized once
+    private final Map<EndpointClass, byte[]> rejections = new EnumMap<>(EndpointClass.class);
+
+    public ConcurrencyLimitFilter(Map<EndpointClass, AdaptiveConcurrencyLimit> limits, Duration retryAfter,
+                                  ObjectMapper objectMapper) {
+        this.limits = new EnumMap<>(limits);
+        this.retryAfter = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+        for (EndpointClass endpointClass : limits.keySet()) {
+            ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many concurrent " + endpointClass.name().toLowerCase() + " requests, retry later");
+            try {
+                rejections.put(endpointClass, objectMapper.writeValueAsBytes(problem));
+            } catch (JsonProcessingException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    public AdaptiveConcurrencyLimit getLimit(EndpointClass endpointClass) {
+        return limits.get(endpointClass);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request);
+        AdaptiveConcurrencyLimit limit = endpointClass == null ? null : limits.get(endpointClass);
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!limit.tryAcquire()) {
+            reject(endpointClass, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServletException | IOException | RuntimeException ex) {
+            limit.onDropped();
+            throw ex;
+        }
+        if (request.isAsyncStarted())
+            request.getAsyncContext().addListener(new Release(limit, start));
+        else
+            release(limit, start, response.getStatus());
+    }
+
+    private void reject(EndpointClass endpointClass, HttpServletResponse response) throws IOException {
+        byte[] body = rejections.get(endpointClass);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static void release(AdaptiveConcurrencyLimit limit, long start, int status) {
+        if (status >= 500)
+            limit.onDropped();
+        else
+            limit.onSuccess(System.nanoTime() - start);
+    }
+
+    // a timed out or failed async request still ends with onComplete, that is where the permit is given back
+    private static final class Release implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimit limit;
+
+        private final long start;
+
+        private volatile boolean failed;
+
+        private Release(AdaptiveConcurrencyLimit limit, long start) {
+            this.limit = limit;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (failed)
+                limit.onDropped();
+            else
+                release(limit, start, ((HttpServletResponse) event.getSuppliedResponse()).getStatus());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.testlab.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Requests of a class share a concurrency limit: a burst of bulk imports must not starve single reads, and slow
+// writes (row locks, fsync) must not shrink the limit of reads served from the cache
+public enum EndpointClass {
+
+    READ, WRITE, BULK;
+
+    private static final String EVENTS = "/api/employees/events";
+
+    // null for the change feed, its streams stay open for minutes and are limited by employee.events.max-subscribers
+    public static EndpointClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.equals(EVENTS))
+            return null;
+        String method = request.getMethod();
+        if (path.endsWith("/batch") || path.endsWith("/import") || path.endsWith("/export")
+                || (method.equals("DELETE") && request.getParameter("ids") != null))
+            return BULK;
+        return method.equals("GET") || method.equals("HEAD") ? READ : WRITE;
+    }
+}
@@ -11,12 +11,19 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Table(name = "employee_table")
+@Table(name = "employee_table",
+        uniqueConstraints = @UniqueConstraint(name = Employee.EMAIL_CONSTRAINT, columnNames = "email"),
+        indexes = @Index(name = "idx_employee_name", columnList = "first_name, last_name"))
 public class Employee {
+
+    public static final String EMAIL_CONSTRAINT = "uk_employee_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
     private String firstName;
     private String lastName;
     private String email;
+    @Version
+    private long version;
 }
@@ -0,0 +1,287 @@
+package com.testlab.outbox;
+
+import com.testlab.config.EmployeeProperties;
+import com.testlab.repository.EmployeeOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Relays employee_outbox rows to the open event streams. Everything that depends on the order of events runs on the
+// single relay thread: it advances the head over new rows in id order, hands them to the live subscribers and
+// replays rows after Last-Event-ID to joining subscribers, at most a buffer's worth per pass, until they reach the
+// head and go live. Writing to the connections is left to the subscribers' sender threads.
+// auto_increment ids are taken at insert and committed in any order, and a rolled back insert leaves a hole for
+// good. The head moves past a missing id right away; the id is looked for again on every pass for gap-timeout and
+// sent out of order if its row shows up, so neither a rollback stalls the stream nor a late commit gets lost.
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employee.events", name = "enabled", havingValue = "true")
+public class EmployeeEventRelay implements SmartLifecycle {
+
+    private static final Duration PRUNE_INTERVAL = Duration.ofMinutes(1);
+
+    // bounds the ids looked for again, a larger hole is an id range burnt by the database rather than open commits
+    private static final int MAX_MISSING = 10_000;
+
+    private EmployeeOutboxRepository outboxRepository;
+
+    private EmployeeProperties.Events properties;
+
+    private final Set<EventSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final List<EventSubscriber> live = new CopyOnWriteArrayList<>();
+
+    private final Queue<EventSubscriber> joining = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    private ScheduledExecutorService relayThread;
+
+    private ExecutorService senders;
+
+    // last outbox id handed to the live subscribers, written by the relay thread only
+    private volatile long head;
+
+    // ids skipped by the head -> when they were first missed, relay thread only
+    private final SortedMap<Long, Long> missing = new TreeMap<>();
+
+    private long lastHeartbeat = System.nanoTime();
+
+    private volatile boolean running;
+
+    public EmployeeEventRelay(EmployeeOutboxRepository outboxRepository, EmployeeProperties employeeProperties) {
+        this.outboxRepository = outboxRepository;
+        this.properties = employeeProperties.getEvents();
+    }
+
+    // null when max-subscribers streams are already open
+    public SseEmitter subscribe(Long lastEventId) {
+        if (!running || subscribers.size() >= properties.getMaxSubscribers())
+            return null;
+
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        EventSubscriber subscriber = new EventSubscriber(emitter, lastEventId == null ? head : lastEventId,
+                properties.getBufferCapacity(), senders);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> unsubscribe(subscriber));
+        try {
+            // commits the response headers right away, without it the client sees nothing until the first event or
+            // heartbeat
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        subscribers.add(subscriber);
+        joining.add(subscriber);
+        wakeUp();
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getHead() {
+        return head;
+    }
+
+    // called after a local commit, collapses bursts of commits into one pass
+    void wakeUp() {
+        if (running && wakeUpPending.compareAndSet(false, true)) {
+            relayThread.execute(() -> {
+                wakeUpPending.set(false);
+                relay();
+            });
+        }
+    }
+
+    @Override
+    public void start() {
+        head = outboxRepository.findMaxId();
+        senders = Executors.newFixedThreadPool(properties.getSenderThreads(), Thread.ofPlatform()
+                .name("employee-events-sender-", 0).daemon().factory());
+        relayThread = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("employee-events-relay").daemon().factory());
+        long pollMillis = properties.getPollInterval().toMillis();
+        relayThread.scheduleWithFixedDelay(this::relay, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+        relayThread.scheduleWithFixedDelay(this::prune, 0, PRUNE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("Employee event relay started at outbox id {}", head);
+    }
+
+    // open streams would otherwise hold up the graceful shutdown of the web server until they time out
+    @Override
+    public void stop() {
+        running = false;
+        relayThread.shutdownNow();
+        subscribers.forEach(EventSubscriber::evict);
+        senders.shutdown();
+        try {
+            senders.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        subscribers.clear();
+        live.clear();
+        joining.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // stops before the web server's graceful shutdown (DEFAULT_PHASE - 1024) starts waiting for open requests
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 512;
+    }
+
+    void relay() {
+        try {
+            dropClosed();
+            publishNewEntries();
+            publishLateEntries();
+            catchUpJoining();
+            heartbeat();
+        } catch (RuntimeException ex) {
+            log.warn("Employee event relay pass failed, retrying in {}", properties.getPollInterval(), ex);
+        }
+    }
+
+    private void publishNewEntries() {
+        int batchSize = properties.getBatchSize();
+        List<EmployeeOutboxRepository.Entry> entries;
+        do {
+            entries = outboxRepository.findAfter(head, Long.MAX_VALUE, batchSize);
+            for (EmployeeOutboxRepository.Entry entry : entries) {
+                if (entry.id() > head + 1)
+                    remember(head + 1, entry.id());
+                head = entry.id();
+                for (EventSubscriber subscriber : live) {
+                    if (!subscriber.offer(entry))
+                        evict(subscriber);
+                }
+            }
+        } while (entries.size() == batchSize);
+    }
+
+    private void remember(long fromId, long toId) {
+        long now = System.nanoTime();
+        for (long id = Math.max(fromId, toId - MAX_MISSING); id < toId; id++)
+            missing.put(id, now);
+        while (missing.size() > MAX_MISSING)
+            missing.remove(missing.firstKey());
+    }
+
+    // rows that committed after the head had passed their id; joining subscribers still behind them read them
+    // from the table, the others get them now
+    private void publishLateEntries() {
+        if (missing.isEmpty())
+            return;
+        List<Long> ids = new ArrayList<>(missing.keySet());
+        for (int from = 0; from < ids.size(); from += properties.getBatchSize()) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + properties.getBatchSize()));
+            for (EmployeeOutboxRepository.Entry entry : outboxRepository.findByIds(chunk)) {
+                missing.remove(entry.id());
+                for (EventSubscriber subscriber : live) {
+                    if (!subscriber.offerLate(entry))
+                        evict(subscriber);
+                }
+                for (EventSubscriber subscriber : joining) {
+                    if (subscriber.getCursor() >= entry.id() && !subscriber.offerLate(entry))
+                        evict(subscriber);
+                }
+            }
+        }
+        long expiredBefore = System.nanoTime() - properties.getGapTimeout().toNanos();
+        missing.values().removeIf(since -> since - expiredBefore < 0);
+    }
+
+    private void catchUpJoining() {
+        for (int i = joining.size(); i > 0; i--) {
+            EventSubscriber subscriber = joining.poll();
+            if (subscriber == null)
+                return;
+            if (subscriber.isClosed())
+                continue;
+
+            int limit = Math.min(properties.getBatchSize(), subscriber.remainingCapacity());
+            List<EmployeeOutboxRepository.Entry> entries = limit == 0 || subscriber.getCursor() >= head
+                    ? List.of() : outboxRepository.findAfter(subscriber.getCursor(), head, limit);
+            entries.forEach(subscriber::offer);
+
+            if (subscriber.getCursor() >= head || (limit > 0 && entries.size() < limit)) {
+                live.add(subscriber);
+            } else {
+                joining.add(subscriber);
+            }
+        }
+    }
+
+    private void heartbeat() {
+        long now = System.nanoTime();
+        if (now - lastHeartbeat < properties.getHeartbeatInterval().toNanos())
+            return;
+        lastHeartbeat = now;
+        for (EventSubscriber subscriber : live) {
+            if (!subscriber.offer(EventSubscriber.HEARTBEAT))
+                evict(subscriber);
+        }
+    }
+
+    private void evict(EventSubscriber subscriber) {
+        log.info("Disconnecting a slow event subscriber at outbox id {}, head is {}", subscriber.getCursor(), head);
+        subscriber.evict();
+        unsubscribe(subscriber);
+    }
+
+    private void dropClosed() {
+        live.removeIf(subscriber -> {
+            if (!subscriber.isClosed())
+                return false;
+            subscribers.remove(subscriber);
+            return true;
+        });
+    }
+
+    private void unsubscribe(EventSubscriber subscriber) {
+        subscribers.remove(subscriber);
+        live.remove(subscriber);
+        joining.remove(subscriber);
+    }
+
+    private void prune() {
+        try {
+            int pruned = outboxRepository.deleteOlderThan(Instant.now().minus(properties.getRetention()));
+            if (pruned > 0)
+                log.debug("Pruned {} outbox rows older than {}", pruned, properties.getRetention());
+        } catch (RuntimeException ex) {
+            log.warn("Pruning the employee outbox failed", ex);
+        }
+    }
+}
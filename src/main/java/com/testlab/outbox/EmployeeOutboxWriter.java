@@ -0,0 +1,75 @@
+package com.testlab.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testlab.event.EmployeeChangedEvent;
+import com.testlab.repository.EmployeeOutboxRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Collects the change events of a transaction and appends them to the outbox in one batch right before it commits,
+// so an event exists exactly when its write does; the relay is woken once the commit went through
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employee.events", name = "enabled", havingValue = "true")
+public class EmployeeOutboxWriter {
+
+    private EmployeeOutboxRepository outboxRepository;
+
+    private EmployeeEventRelay eventRelay;
+
+    private ObjectMapper objectMapper;
+
+    public EmployeeOutboxWriter(EmployeeOutboxRepository outboxRepository, EmployeeEventRelay eventRelay,
+                                ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.eventRelay = eventRelay;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive())
+            throw new IllegalStateException("EmployeeChangedEvent published outside of a transaction: " + event);
+
+        PendingEntries pending = (PendingEntries) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEntries();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.entries.add(new EmployeeOutboxRepository.Entry(0, event.type().name(), event.id(), payload(event)));
+    }
+
+    private String payload(EmployeeChangedEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize " + event, ex);
+        }
+    }
+
+    private class PendingEntries implements TransactionSynchronization {
+
+        private final List<EmployeeOutboxRepository.Entry> entries = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            outboxRepository.append(entries);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(EmployeeOutboxWriter.this);
+            if (status == STATUS_COMMITTED)
+                eventRelay.wakeUp();
+        }
+    }
+}
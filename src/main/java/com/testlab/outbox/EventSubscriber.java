@@ -0,0 +1,111 @@
+package com.testlab.outbox;
+
+import com.testlab.repository.EmployeeOutboxRepository;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// One open event stream. The relay thread offers events into a bounded buffer and never writes to the connection
+// itself; a sender thread is borrowed only while the buffer has something to write, so idle subscribers hold no
+// thread. A full buffer means the client cannot keep up and the subscriber is closed.
+class EventSubscriber {
+
+    static final EmployeeOutboxRepository.Entry HEARTBEAT = new EmployeeOutboxRepository.Entry(0, null, 0, null);
+
+    private final SseEmitter emitter;
+
+    private final BlockingQueue<EmployeeOutboxRepository.Entry> buffer;
+
+    private final Executor sender;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    // last outbox id handed to this subscriber, only touched by the relay thread
+    private long cursor;
+
+    EventSubscriber(SseEmitter emitter, long cursor, int bufferCapacity, Executor sender) {
+        this.emitter = emitter;
+        this.cursor = cursor;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.sender = sender;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    long getCursor() {
+        return cursor;
+    }
+
+    int remainingCapacity() {
+        return buffer.remainingCapacity();
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    // false when the buffer is full, the caller is expected to evict the subscriber; entries up to the cursor were
+    // already seen (Last-Event-ID ahead of this instance's head) and are skipped
+    boolean offer(EmployeeOutboxRepository.Entry entry) {
+        if (entry != HEARTBEAT && entry.id() <= cursor)
+            return true;
+        if (closed.get() || !buffer.offer(entry))
+            return false;
+        if (entry != HEARTBEAT)
+            cursor = entry.id();
+        schedule();
+        return true;
+    }
+
+    // a row that committed after rows with higher ids were relayed; it is sent out of order and leaves the cursor
+    boolean offerLate(EmployeeOutboxRepository.Entry entry) {
+        if (closed.get() || !buffer.offer(entry))
+            return false;
+        schedule();
+        return true;
+    }
+
+    // the response is completed from the sender side: a send blocked on a stuck connection keeps the emitter locked
+    // and the relay thread must never wait for it
+    void evict() {
+        closed.set(true);
+        buffer.clear();
+        schedule();
+    }
+
+    private void schedule() {
+        if (draining.compareAndSet(false, true))
+            sender.execute(this::drain);
+    }
+
+    private void drain() {
+        do {
+            EmployeeOutboxRepository.Entry entry;
+            while (!closed.get() && (entry = buffer.poll()) != null) {
+                try {
+                    emitter.send(entry == HEARTBEAT ? SseEmitter.event().comment("heartbeat") : SseEmitter.event()
+                            .id(String.valueOf(entry.id()))
+                            .name(entry.type())
+                            .data(entry.payload()));
+                } catch (IOException | IllegalStateException ex) {
+                    // the client went away, the relay drops closed subscribers on its next pass
+                    closed.set(true);
+                    return;
+                }
+            }
+            if (closed.get()) {
+                emitter.complete();
+                return;
+            }
+            draining.set(false);
+        } while ((closed.get() || !buffer.isEmpty()) && draining.compareAndSet(false, true));
+    }
+}
@@ -0,0 +1,52 @@
+package com.testlab.repository;
+
+import com.testlab.model.Employee;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.stereotype.Component;
+
+// A create replayed by a client ends in a violation of the unique email constraint, so that failure is routine.
+// The repository proxies ask this translator before Hibernate's own. It recognises the constraint without
+// allocating and answers with an exception that has no stack trace. Every other failure falls through to the
+// JPA dialect.
+@Component
+@Profile("!reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class EmailConflictTranslator implements PersistenceExceptionTranslator {
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+        if (ex instanceof ConstraintViolationException violation && isEmailConstraint(violation.getConstraintName()))
+            return new EmailTakenException(violation);
+        return null;
+    }
+
+    // drivers qualify the name differently (MySQL "employee_table.uk_employee_email", H2 "PUBLIC.UK_EMPLOYEE_EMAIL_...")
+    public static boolean isEmailConstraint(String constraintName) {
+        if (constraintName == null)
+            return false;
+        int length = Employee.EMAIL_CONSTRAINT.length();
+        for (int i = 0; i + length <= constraintName.length(); i++) {
+            if (constraintName.regionMatches(true, i, Employee.EMAIL_CONSTRAINT, 0, length))
+                return true;
+        }
+        return false;
+    }
+
+    public static class EmailTakenException extends DuplicateKeyException {
+
+        public EmailTakenException(ConstraintViolationException cause) {
+            super(cause.getMessage(), cause);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.testlab.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// Plain JDBC over employee_outbox: appends are batched and join the caller's JPA transaction through the shared
+// connection, reads run outside of any transaction and therefore on the primary
+@Repository
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employee.events", name = "enabled", havingValue = "true")
+public class EmployeeOutboxRepository {
+
+    private static final String INSERT_SQL = "insert into employee_outbox (event_type, employee_id, payload, created_at) "
+            + "values (:type, :employeeId, :payload, :createdAt)";
+
+    private static final String SELECT_RANGE_SQL = "select id, event_type, employee_id, payload from employee_outbox "
+            + "where id > :afterId and id <= :upToId order by id limit :limit";
+
+    private static final String SELECT_IDS_SQL = "select id, event_type, employee_id, payload from employee_outbox "
+            + "where id in (:ids) order by id";
+
+    // id is assigned by the insert and ignored by append
+    public record Entry(long id, String type, long employeeId, String payload) {
+    }
+
+    private static final RowMapper<Entry> ENTRY_MAPPER = (rs, rowNum) -> new Entry(rs.getLong("id"),
+            rs.getString("event_type"), rs.getLong("employee_id"), rs.getString("payload"));
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    public EmployeeOutboxRepository(DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    public void append(List<Entry> entries) {
+        if (entries.isEmpty())
+            return;
+
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        MapSqlParameterSource[] batch = entries.stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("type", entry.type())
+                        .addValue("employeeId", entry.employeeId())
+                        .addValue("payload", entry.payload())
+                        .addValue("createdAt", createdAt))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    public List<Entry> findAfter(long afterId, long upToId, int limit) {
+        return jdbcTemplate.query(SELECT_RANGE_SQL, Map.of("afterId", afterId, "upToId", upToId, "limit", limit),
+                ENTRY_MAPPER);
+    }
+
+    public List<Entry> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty())
+            return List.of();
+        return jdbcTemplate.query(SELECT_IDS_SQL, Map.of("ids", ids),
+                ENTRY_MAPPER);
+    }
+
+    public long findMaxId() {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from employee_outbox", Map.of(), Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    public int deleteOlderThan(Instant cutoff) {
+        return jdbcTemplate.update("delete from employee_outbox where created_at < :cutoff",
+                Map.of("cutoff", Timestamp.from(cutoff)));
+    }
+}
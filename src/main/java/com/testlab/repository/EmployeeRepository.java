@@ -1,18 +1,100 @@
 package com.testlab.repository;
 
+import com.testlab.dto.EmployeeListVersion;
+import com.testlab.dto.EmployeeView;
 import com.testlab.model.Employee;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
+
+    String VIEW_SELECT = "select new com.testlab.dto.EmployeeView(e.id, e.firstName, e.lastName, e.email, e.version) from Employee e ";
 
     Optional<Employee> findByEmail(String email);
 
+    //read-only projections for the GET endpoints - no managed entities, no dirty-check snapshots
+    @Query(VIEW_SELECT + "order by e.id")
+    List<EmployeeView> findAllViews();
+
+    @Query(VIEW_SELECT + "where e.id = :id")
+    Optional<EmployeeView> findViewById(@Param("id") long id);
+
+    @Query(VIEW_SELECT + "where e.email = :email")
+    Optional<EmployeeView> findViewByEmail(@Param("email") String email);
+
+    //ETag of the list endpoint
+    @Query("select new com.testlab.dto.EmployeeListVersion(count(e), coalesce(max(e.id), 0L), coalesce(sum(e.version), 0L)) from Employee e")
+    EmployeeListVersion findListVersion();
+
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    //uniqueness check for a whole chunk of emails in one round-trip
+    @Query("select e.email from Employee e where e.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    //the rows of a bulk delete that exist, locked (select ... for update) so the delete removes exactly these
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e.id from Employee e where e.id in :ids")
+    List<Long> lockExistingIds(@Param("ids") Collection<Long> ids);
+
+    //keyset page on the primary key - Slice fetches limit + 1 rows instead of running a count query
+    @Query(VIEW_SELECT + "where e.id > :id order by e.id")
+    Slice<EmployeeView> findViewsAfter(@Param("id") long id, Pageable pageable);
+
+    //forward-only cursor for exports - must be consumed inside a transaction and closed after use
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(VIEW_SELECT + "order by e.id")
+    Stream<EmployeeView> streamAll();
+
+    //full replace in one statement without loading the entity first; bulk updates bypass @Version, so it is bumped here
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employee e set e.firstName = :firstName, e.lastName = :lastName, e.email = :email, " +
+            "e.version = e.version + 1 where e.id = :id")
+    int updateById(@Param("id") long id, @Param("firstName") String firstName,
+                   @Param("lastName") String lastName, @Param("email") String email);
+
+    //compare-and-set variant for If-Match, 0 rows when the version moved on
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employee e set e.firstName = :firstName, e.lastName = :lastName, e.email = :email, " +
+            "e.version = e.version + 1 where e.id = :id and e.version = :version")
+    int updateByIdAndVersion(@Param("id") long id, @Param("version") long version, @Param("firstName") String firstName,
+                             @Param("lastName") String lastName, @Param("email") String email);
+
+    //delete without loading the entity first, returns the affected row count
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Employee e where e.id = :id")
+    int deleteEmployeeById(@Param("id") long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Employee e where e.id = :id and e.version = :version")
+    int deleteEmployeeByIdAndVersion(@Param("id") long id, @Param("version") long version);
+
+    //set-based bulk delete in one statement
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Employee e where e.id in :ids")
+    int deleteEmployeesByIds(@Param("ids") Collection<Long> ids);
+
     //define custom query using JPQL with index params
     @Query("select e from Employee e where e.firstName= ?1 and e.lastName= ?2")
     Employee findByJPQL(String firstName, String lastName);
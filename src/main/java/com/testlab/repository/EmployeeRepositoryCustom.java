@@ -0,0 +1,16 @@
+package com.testlab.repository;
+
+import com.testlab.dto.EmployeePatch;
+import com.testlab.model.Employee;
+
+import java.util.List;
+
+public interface EmployeeRepositoryCustom {
+
+    //inserts all employees as one JDBC batch and assigns the generated ids
+    void batchInsert(List<Employee> employees);
+
+    //single UPDATE of the non-null fields of the patch that bumps the version, returns the affected row count;
+    //with an expectedVersion the row is only updated while it is still at that version
+    int patchById(long id, EmployeePatch patch, Long expectedVersion);
+}
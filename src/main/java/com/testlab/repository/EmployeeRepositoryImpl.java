@@ -0,0 +1,71 @@
+package com.testlab.repository;
+
+import com.testlab.dto.EmployeePatch;
+import com.testlab.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+// Hibernate cannot batch inserts for IDENTITY ids, so bulk inserts go straight through JDBC
+public class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "insert into employee_table (first_name, last_name, email) values (:firstName, :lastName, :email)";
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private EntityManager entityManager;
+
+    public EmployeeRepositoryImpl(DataSource dataSource, EntityManager entityManager) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void batchInsert(List<Employee> employees) {
+        if (employees.isEmpty())
+            return;
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_SQL, SqlParameterSourceUtils.createBatch(employees), keyHolder, new String[]{"id"});
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < employees.size(); i++) {
+            employees.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    @Override
+    public int patchById(long id, EmployeePatch patch, Long expectedVersion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = cb.createCriteriaUpdate(Employee.class);
+        Root<Employee> root = update.from(Employee.class);
+
+        if (patch.firstName() != null)
+            update.set("firstName", patch.firstName());
+        if (patch.lastName() != null)
+            update.set("lastName", patch.lastName());
+        if (patch.email() != null)
+            update.set("email", patch.email());
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        if (expectedVersion == null)
+            update.where(cb.equal(root.get("id"), id));
+        else
+            update.where(cb.equal(root.get("id"), id), cb.equal(root.get("version"), expectedVersion));
+
+        // same contract as @Modifying(flushAutomatically = true, clearAutomatically = true)
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+}
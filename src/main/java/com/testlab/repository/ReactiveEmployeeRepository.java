@@ -0,0 +1,169 @@
+package com.testlab.repository;
+
+import com.testlab.dto.EmployeeListVersion;
+import com.testlab.dto.EmployeePatch;
+import com.testlab.dto.EmployeeView;
+import com.testlab.model.Employee;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.StringJoiner;
+
+// R2DBC counterpart of EmployeeRepository for the reactive profile, same table and same single-statement writes
+@Repository
+@Profile("reactive")
+public class ReactiveEmployeeRepository {
+
+    private static final String SELECT = "select id, first_name, last_name, email, version from employee_table ";
+
+    private DatabaseClient databaseClient;
+
+    public ReactiveEmployeeRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<EmployeeView> findAll() {
+        return databaseClient.sql(SELECT + "order by id")
+                .map(ReactiveEmployeeRepository::toView)
+                .all();
+    }
+
+    public Flux<EmployeeView> findByIdGreaterThan(long id, int limit) {
+        return databaseClient.sql(SELECT + "where id > :id order by id limit :limit")
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveEmployeeRepository::toView)
+                .all();
+    }
+
+    public Mono<EmployeeView> findById(long id) {
+        return databaseClient.sql(SELECT + "where id = :id")
+                .bind("id", id)
+                .map(ReactiveEmployeeRepository::toView)
+                .one();
+    }
+
+    public Mono<Long> findVersionById(long id) {
+        return databaseClient.sql("select version from employee_table where id = :id")
+                .bind("id", id)
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    // sum() is DECIMAL on MySQL, hence Number
+    public Mono<EmployeeListVersion> findListVersion() {
+        return databaseClient.sql("select count(*) as row_count, coalesce(max(id), 0) as max_id, " +
+                        "coalesce(sum(version), 0) as version_sum from employee_table")
+                .map(row -> new EmployeeListVersion(row.get("row_count", Number.class).longValue(),
+                        row.get("max_id", Number.class).longValue(), row.get("version_sum", Number.class).longValue()))
+                .one();
+    }
+
+    // case-insensitive prefix match over first name, last name and email
+    public Flux<EmployeeView> search(String query, int limit) {
+        String prefix = query.toLowerCase().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return databaseClient.sql(SELECT + "where lower(first_name) like :prefix or lower(last_name) like :prefix " +
+                        "or lower(email) like :prefix order by id limit :limit")
+                .bind("prefix", prefix)
+                .bind("limit", limit)
+                .map(ReactiveEmployeeRepository::toView)
+                .all();
+    }
+
+    public Flux<String> findExistingEmails(Collection<String> emails) {
+        return databaseClient.sql("select email from employee_table where email in (:emails)")
+                .bind("emails", emails)
+                .map(row -> row.get("email", String.class))
+                .all();
+    }
+
+    public Mono<Employee> insert(Employee employee) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient
+                .sql("insert into employee_table (first_name, last_name, email) values (:firstName, :lastName, :email)")
+                .filter(statement -> statement.returnGeneratedValues("id"));
+        return bindFields(spec, employee.getFirstName(), employee.getLastName(), employee.getEmail())
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    employee.setId(id);
+                    return employee;
+                });
+    }
+
+    // expectedVersion null updates unconditionally
+    public Mono<Long> updateById(long id, Employee employee, Long expectedVersion) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient
+                .sql("update employee_table set first_name = :firstName, last_name = :lastName, email = :email, version = version + 1 " +
+                        "where id = :id" + versionCondition(expectedVersion))
+                .bind("id", id);
+        spec = bindVersion(spec, expectedVersion);
+        return bindFields(spec, employee.getFirstName(), employee.getLastName(), employee.getEmail())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> patchById(long id, EmployeePatch patch, Long expectedVersion) {
+        StringJoiner assignments = new StringJoiner(", ");
+        assignments.add("version = version + 1");
+        if (patch.firstName() != null)
+            assignments.add("first_name = :firstName");
+        if (patch.lastName() != null)
+            assignments.add("last_name = :lastName");
+        if (patch.email() != null)
+            assignments.add("email = :email");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient
+                .sql("update employee_table set " + assignments + " where id = :id" + versionCondition(expectedVersion))
+                .bind("id", id);
+        spec = bindVersion(spec, expectedVersion);
+        if (patch.firstName() != null)
+            spec = spec.bind("firstName", patch.firstName());
+        if (patch.lastName() != null)
+            spec = spec.bind("lastName", patch.lastName());
+        if (patch.email() != null)
+            spec = spec.bind("email", patch.email());
+        return spec.fetch().rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(long id, Long expectedVersion) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient
+                .sql("delete from employee_table where id = :id" + versionCondition(expectedVersion))
+                .bind("id", id);
+        return bindVersion(spec, expectedVersion)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteByIds(Collection<Long> ids) {
+        return databaseClient.sql("delete from employee_table where id in (:ids)")
+                .bind("ids", ids)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static String versionCondition(Long expectedVersion) {
+        return expectedVersion == null ? "" : " and version = :version";
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindVersion(DatabaseClient.GenericExecuteSpec spec,
+                                                                Long expectedVersion) {
+        return expectedVersion == null ? spec : spec.bind("version", expectedVersion);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindFields(DatabaseClient.GenericExecuteSpec spec,
+                                                               String firstName, String lastName, String email) {
+        spec = firstName == null ? spec.bindNull("firstName", String.class) : spec.bind("firstName", firstName);
+        spec = lastName == null ? spec.bindNull("lastName", String.class) : spec.bind("lastName", lastName);
+        return email == null ? spec.bindNull("email", String.class) : spec.bind("email", email);
+    }
+
+    private static EmployeeView toView(Readable row) {
+        return new EmployeeView(row.get("id", Long.class), row.get("first_name", String.class),
+                row.get("last_name", String.class), row.get("email", String.class), row.get("version", Long.class));
+    }
+}
@@ -0,0 +1,413 @@
+package com.testlab.search;
+
+import com.testlab.dto.EmployeeView;
+import com.testlab.event.EmployeeChangedEvent;
+import com.testlab.repository.EmployeeRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// In-memory type-ahead index over first name, last name and email. Every value is split into lower-cased
+// terms ("sant.k@gmail.com" -> sant, k, gmail, com) which are stored in a trie; a query word matches a term
+// when it is within a small edit distance of one of the term's prefixes (Damerau-Levenshtein walk over the trie).
+// Exact prefix matches are returned first, in term order, and the walk stops once the page is full, so broad
+// prefixes cost no more than narrow ones. Loaded once on startup and kept in sync by the EmployeeChangedEvents of
+// committed writes. Writers are serialized, readers never lock and see copy-on-write child arrays.
+@Component
+@Profile("!reactive")
+public class EmployeeSearchIndex {
+
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Node root = new Node('\0');
+
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+    // deletes seen while the initial load streams an older snapshot of the table
+    private final Set<Long> deletedWhileLoading = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean loading;
+
+    private EmployeeRepository employeeRepository;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    public EmployeeSearchIndex(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        loading = true;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<EmployeeView> employees = employeeRepository.streamAll()) {
+                    employees.forEach(this::indexIfAbsent);
+                }
+            });
+        } finally {
+            loading = false;
+            deletedWhileLoading.clear();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.type() == EmployeeChangedEvent.Type.DELETED)
+            remove(event.id());
+        else if (event.employee() != null)
+            index(event.employee());
+        else
+            employeeRepository.findViewById(event.id()).ifPresentOrElse(this::index, () -> remove(event.id()));
+    }
+
+    public synchronized void index(EmployeeView employee) {
+        Document document = new Document(employee, terms(employee));
+        Document previous = documents.put(employee.id(), document);
+        if (previous != null) {
+            for (String term : previous.terms())
+                removeTerm(term, employee.id());
+        }
+        for (String term : document.terms())
+            addTerm(term, employee.id());
+    }
+
+    public synchronized void remove(long id) {
+        if (loading)
+            deletedWhileLoading.add(id);
+        Document previous = documents.remove(id);
+        if (previous != null) {
+            for (String term : previous.terms())
+                removeTerm(term, id);
+        }
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    // every word of the query has to match. Results are ordered by total edits over all words, ties in term order.
+    public List<EmployeeView> search(String query, int limit) {
+        List<String> words = query == null ? List.of() : split(query);
+        if (words.isEmpty() || limit <= 0)
+            return List.of();
+        return new Search(words, limit).run();
+    }
+
+    private synchronized void indexIfAbsent(EmployeeView employee) {
+        if (documents.containsKey(employee.id()) || deletedWhileLoading.contains(employee.id()))
+            return;
+        Document document = new Document(employee, terms(employee));
+        documents.put(employee.id(), document);
+        for (String term : document.terms())
+            addTerm(term, employee.id());
+    }
+
+    // short words must match a prefix exactly, longer ones tolerate one or two typos
+    private static int maxEdits(String word) {
+        return word.length() < 3 ? 0 : word.length() <= 5 ? 1 : 2;
+    }
+
+    // a matched prefix may be at most one character shorter than the word, otherwise "smith" would match every "sm..."
+    private static int minPrefixLength(String word) {
+        return maxEdits(word) == 0 ? word.length() : word.length() - 1;
+    }
+
+    // summed edits of the best matching term for each word, -1 when some word matches no term
+    private static int distance(Document document, List<String> words) {
+        int total = 0;
+        for (String word : words) {
+            int best = -1;
+            for (String term : document.terms()) {
+                int edits = prefixDistance(word, term);
+                if (edits >= 0 && (best < 0 || edits < best))
+                    best = edits;
+            }
+            if (best < 0)
+                return -1;
+            total += best;
+        }
+        return total;
+    }
+
+    // the same measure as the trie walk, for a single term
+    private static int prefixDistance(String word, String term) {
+        if (term.startsWith(word))
+            return 0;
+        int maxEdits = maxEdits(word);
+        if (maxEdits == 0)
+            return -1;
+
+        int columns = word.length() + 1;
+        int[] rowBeforePrevious = null;
+        int[] previousRow = new int[columns];
+        for (int i = 0; i < columns; i++)
+            previousRow[i] = i;
+        int best = -1;
+        for (int depth = 1; depth <= term.length(); depth++) {
+            int[] row = nextRow(word, term.charAt(depth - 1), depth > 1 ? term.charAt(depth - 2) : '\0',
+                    rowBeforePrevious, previousRow);
+            int edits = row[columns - 1];
+            if (depth >= minPrefixLength(word) && edits <= maxEdits && (best < 0 || edits < best))
+                best = edits;
+            if (Arrays.stream(row).min().getAsInt() > maxEdits)
+                break;
+            rowBeforePrevious = previousRow;
+            previousRow = row;
+        }
+        return best;
+    }
+
+    // one row of the edit distance matrix between the word and a prefix extended by key
+    private static int[] nextRow(String word, char key, char previousKey, int[] rowBeforePrevious, int[] previousRow) {
+        int[] row = new int[word.length() + 1];
+        row[0] = previousRow[0] + 1;
+        for (int i = 1; i < row.length; i++) {
+            int cost = word.charAt(i - 1) == key ? 0 : 1;
+            int distance = Math.min(Math.min(row[i - 1] + 1, previousRow[i] + 1), previousRow[i - 1] + cost);
+            // adjacent transposition, "jhon" -> "john"
+            if (rowBeforePrevious != null && i > 1 && word.charAt(i - 1) == previousKey && word.charAt(i - 2) == key)
+                distance = Math.min(distance, rowBeforePrevious[i - 2] + 1);
+            row[i] = distance;
+        }
+        return row;
+    }
+
+    private void addTerm(String term, long id) {
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            Node child = node.child(term.charAt(i));
+            if (child == null) {
+                child = new Node(term.charAt(i));
+                node.addChild(child);
+            }
+            node = child;
+        }
+        if (node.ids == null)
+            node.ids = ConcurrentHashMap.newKeySet();
+        node.ids.add(id);
+    }
+
+    private void removeTerm(String term, long id) {
+        Node[] path = new Node[term.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < term.length(); i++) {
+            path[i + 1] = path[i].child(term.charAt(i));
+            if (path[i + 1] == null)
+                return;
+        }
+        Node leaf = path[term.length()];
+        if (leaf.ids == null || !leaf.ids.remove(id))
+            return;
+        if (leaf.ids.isEmpty())
+            leaf.ids = null;
+
+        // prune branches that no longer lead to any term
+        for (int depth = term.length(); depth > 0; depth--) {
+            Node node = path[depth];
+            if (node.ids != null || node.children.length > 0)
+                break;
+            path[depth - 1].removeChild(node);
+        }
+    }
+
+    private static String[] terms(EmployeeView employee) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String value : new String[]{employee.firstName(), employee.lastName(), employee.email()}) {
+            if (value != null)
+                terms.addAll(split(value));
+        }
+        return terms.toArray(String[]::new);
+    }
+
+    private static List<String> split(String value) {
+        List<String> terms = new ArrayList<>();
+        for (String term : TERM_SEPARATOR.split(value.toLowerCase(Locale.ROOT))) {
+            if (!term.isEmpty())
+                terms.add(term);
+        }
+        return terms;
+    }
+
+    private record Document(EmployeeView view, String[] terms) {
+    }
+
+    // The longest query word drives the trie walk and the other words are checked against each candidate's terms.
+    // Pass k visits the prefixes exactly k edits away from that word, so after pass k every result with at most
+    // k total edits is known and the walk can stop as soon as the page is full.
+    private final class Search {
+
+        private final String lead;
+
+        private final List<String> others;
+
+        private final int limit;
+
+        private final Set<Long> seen = new HashSet<>();
+
+        // candidates by total edits, in the order the walk reached them
+        private final List<List<EmployeeView>> byEdits = new ArrayList<>();
+
+        private int allowedEdits;
+
+        private int found;
+
+        Search(List<String> words, int limit) {
+            this.lead = words.stream().max(Comparator.comparingInt(String::length)).get();
+            this.others = new ArrayList<>(words);
+            this.others.remove(lead);
+            this.limit = limit;
+        }
+
+        List<EmployeeView> run() {
+            int[] firstRow = new int[lead.length() + 1];
+            for (int i = 0; i < firstRow.length; i++)
+                firstRow[i] = i;
+
+            for (allowedEdits = 0; allowedEdits <= maxEdits(lead); allowedEdits++) {
+                found = 0;
+                for (int edits = 0; edits <= allowedEdits && edits < byEdits.size(); edits++)
+                    found += byEdits.get(edits).size();
+                if (found >= limit || walkChildren(root, 1, firstRow, null))
+                    break;
+            }
+
+            List<EmployeeView> results = new ArrayList<>(limit);
+            for (List<EmployeeView> candidates : byEdits) {
+                for (EmployeeView candidate : candidates) {
+                    if (results.size() == limit)
+                        return results;
+                    results.add(candidate);
+                }
+            }
+            return results;
+        }
+
+        // true once the page is full
+        private boolean walkChildren(Node node, int depth, int[] previousRow, int[] rowBeforePrevious) {
+            for (Node child : node.children) {
+                if (walk(child, depth, node.key, rowBeforePrevious, previousRow))
+                    return true;
+            }
+            return false;
+        }
+
+        // the last cell of the row is the distance between the lead word and the prefix spelled by this path
+        private boolean walk(Node node, int depth, char previousKey, int[] rowBeforePrevious, int[] previousRow) {
+            int[] row = nextRow(lead, node.key, previousKey, rowBeforePrevious, previousRow);
+            int distance = row[row.length - 1];
+            if (distance <= allowedEdits && depth >= minPrefixLength(lead)) {
+                // closer prefixes were collected completely by the earlier passes
+                if (distance == allowedEdits && collect(node, distance))
+                    return true;
+                if (distance == 0)
+                    return false;
+            }
+            return Arrays.stream(row).min().getAsInt() <= allowedEdits
+                    && walkChildren(node, depth + 1, row, previousRow);
+        }
+
+        private boolean collect(Node node, int leadEdits) {
+            Deque<Node> pending = new ArrayDeque<>();
+            pending.push(node);
+            while (!pending.isEmpty()) {
+                Node current = pending.pop();
+                Set<Long> ids = current.ids;
+                if (ids != null) {
+                    for (Long id : ids) {
+                        if (add(id, leadEdits))
+                            return true;
+                    }
+                }
+                Node[] children = current.children;
+                for (int i = children.length - 1; i >= 0; i--)
+                    pending.push(children[i]);
+            }
+            return false;
+        }
+
+        private boolean add(long id, int leadEdits) {
+            Document document = documents.get(id);
+            if (document == null || !seen.add(id))
+                return false;
+            int edits = distance(document, others);
+            if (edits < 0)
+                return false;
+
+            int total = leadEdits + edits;
+            while (byEdits.size() <= total)
+                byEdits.add(new ArrayList<>());
+            byEdits.get(total).add(document.view());
+            return total <= allowedEdits && ++found >= limit;
+        }
+    }
+
+    private static final class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        final char key;
+
+        // replaced, never mutated, so readers can iterate without locking
+        volatile Node[] children = NO_CHILDREN;
+
+        volatile Set<Long> ids;
+
+        Node(char key) {
+            this.key = key;
+        }
+
+        Node child(char key) {
+            for (Node child : children) {
+                if (child.key == key)
+                    return child;
+            }
+            return null;
+        }
+
+        // children stay sorted by key so walks visit terms in alphabetical order
+        void addChild(Node child) {
+            Node[] current = children;
+            int position = 0;
+            while (position < current.length && current[position].key < child.key)
+                position++;
+            Node[] grown = new Node[current.length + 1];
+            System.arraycopy(current, 0, grown, 0, position);
+            grown[position] = child;
+            System.arraycopy(current, position, grown, position + 1, current.length - position);
+            children = grown;
+        }
+
+        void removeChild(Node child) {
+            Node[] current = children;
+            Node[] shrunk = new Node[current.length - 1];
+            int i = 0;
+            for (Node node : current) {
+                if (node != child)
+                    shrunk[i++] = node;
+            }
+            children = shrunk;
+        }
+    }
+}
@@ -1,18 +1,42 @@
 package com.testlab.service;
 
+import com.testlab.dto.BatchItemResult;
+import com.testlab.dto.EmployeeListVersion;
+import com.testlab.dto.EmployeePatch;
+import com.testlab.dto.EmployeeView;
 import com.testlab.model.Employee;
+import org.springframework.data.domain.Slice;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
     Employee saveEmployee(Employee employee);
 
-    List<Employee> getAllEmployees();
+    List<BatchItemResult> saveEmployees(List<Employee> employees);
 
-    Optional<Employee> getEmployeeById(long id);
+    List<EmployeeView> getAllEmployees();
 
-    Employee updateEmployee(Employee updEmployee);
+    EmployeeListVersion getEmployeeListVersion();
 
-    void deleteEmployee(long id);
+    Slice<EmployeeView> getEmployeesAfter(long afterId, int limit);
+
+    void exportEmployees(Consumer<EmployeeView> sink);
+
+    Optional<EmployeeView> getEmployeeById(long id);
+
+    Optional<EmployeeView> getEmployeeByEmail(String email);
+
+    List<EmployeeView> searchEmployees(String query, int limit);
+
+    //expectedVersion is the version named by If-Match, null for an unconditional write
+    Optional<EmployeeView> updateEmployee(long id, Employee employee, Long expectedVersion);
+
+    boolean patchEmployee(long id, EmployeePatch patch, Long expectedVersion);
+
+    boolean deleteEmployee(long id, Long expectedVersion);
+
+    int deleteEmployees(Collection<Long> ids);
 }
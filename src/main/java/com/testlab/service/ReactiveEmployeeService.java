@@ -0,0 +1,37 @@
+package com.testlab.service;
+
+import com.testlab.dto.BatchItemResult;
+import com.testlab.dto.EmployeeListVersion;
+import com.testlab.dto.EmployeePatch;
+import com.testlab.dto.EmployeeView;
+import com.testlab.model.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ReactiveEmployeeService {
+    Mono<Employee> saveEmployee(Employee employee);
+
+    Flux<BatchItemResult> saveEmployees(List<Employee> employees);
+
+    Flux<EmployeeView> getAllEmployees();
+
+    Flux<EmployeeView> getEmployeesAfter(long afterId, int limit);
+
+    Mono<EmployeeListVersion> getEmployeeListVersion();
+
+    Flux<EmployeeView> searchEmployees(String query, int limit);
+
+    Mono<EmployeeView> getEmployeeById(long id);
+
+    //expectedVersion (If-Match) null = unconditional; a version mismatch errors with PreconditionFailedException
+    Mono<EmployeeView> updateEmployee(long id, Employee employee, Long expectedVersion);
+
+    Mono<Boolean> patchEmployee(long id, EmployeePatch patch, Long expectedVersion);
+
+    Mono<Boolean> deleteEmployee(long id, Long expectedVersion);
+
+    Mono<Long> deleteEmployees(Collection<Long> ids);
+}
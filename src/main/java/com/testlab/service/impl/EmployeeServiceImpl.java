@@ -1,51 +1,289 @@
 package com.testlab.service.impl;
 
-import com.testlab.exception.ResourceNotFoundException;
+import com.testlab.config.CacheConfig;
+import com.testlab.config.EmployeeProperties;
+import com.testlab.dto.BatchItemResult;
+import com.testlab.dto.EmployeeListVersion;
+import com.testlab.dto.EmployeePatch;
+import com.testlab.dto.EmployeeView;
+import com.testlab.event.EmployeeChangedEvent;
+import com.testlab.exception.EmployeeConflictException;
+import com.testlab.exception.PreconditionFailedException;
 import com.testlab.model.Employee;
+import com.testlab.repository.EmailConflictTranslator;
 import com.testlab.repository.EmployeeRepository;
+import com.testlab.search.EmployeeSearchIndex;
 import com.testlab.service.EmployeeService;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Profile("!reactive")
+@Timed(value = "employee.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class EmployeeServiceImpl implements EmployeeService {
 
 
     private EmployeeRepository employeeRepository;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    private EmployeeProperties employeeProperties;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EmployeeProperties employeeProperties,
+                               ApplicationEventPublisher eventPublisher, EmployeeSearchIndex employeeSearchIndex) {
         this.employeeRepository = employeeRepository;
+        this.employeeProperties = employeeProperties;
+        this.eventPublisher = eventPublisher;
+        this.employeeSearchIndex = employeeSearchIndex;
     }
 
+    // the id cache holds EmployeeView, so a cached "not found" for the new id is evicted instead of putting the entity;
+    // transactional so that the change event lands in the outbox together with the row
     @Override
+    @Transactional
+    @Caching(evict = {@CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_ID, key = "#result.id"),
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, key = "#employee.email")})
     public Employee saveEmployee(Employee employee) {
+        Employee saved;
+        try {
+            saved = employeeRepository.save(employee);
+        } catch (DataIntegrityViolationException ex) {
+            throw translate(ex, employee.getEmail());
+        }
+        eventPublisher.publishEvent(EmployeeChangedEvent.created(EmployeeView.of(saved)));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    @Caching(evict = {@CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_ID, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, allEntries = true)})
+    public List<BatchItemResult> saveEmployees(List<Employee> employees) {
+        BatchItemResult[] results = new BatchItemResult[employees.size()];
+        Set<String> seenEmails = new HashSet<>();
+        int batchSize = Math.max(1, employeeProperties.getBatch().getSize());
+
+        for (int from = 0; from < employees.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, employees.size());
+
+            List<String> candidateEmails = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                if (isValid(employees.get(i)))
+                    candidateEmails.add(employees.get(i).getEmail());
+            }
+            Set<String> existingEmails = candidateEmails.isEmpty()
+                    ? Set.of() : employeeRepository.findExistingEmails(candidateEmails);
+
+            List<Employee> toInsert = new ArrayList<>(candidateEmails.size());
+            List<Integer> insertIndexes = new ArrayList<>(candidateEmails.size());
+            for (int i = from; i < to; i++) {
+                Employee employee = employees.get(i);
+                if (!isValid(employee)) {
+                    results[i] = BatchItemResult.invalid(i, employee == null ? null : employee.getEmail(),
+                            "firstName and a valid email are required");
+                } else if (existingEmails.contains(employee.getEmail()) || !seenEmails.add(employee.getEmail())) {
+                    results[i] = BatchItemResult.duplicate(i, employee.getEmail());
+                } else {
+                    toInsert.add(employee);
+                    insertIndexes.add(i);
+                }
+            }
+
+            employeeRepository.batchInsert(toInsert);
+            for (int j = 0; j < toInsert.size(); j++) {
+                Employee employee = toInsert.get(j);
+                results[insertIndexes.get(j)] = BatchItemResult.created(insertIndexes.get(j), employee.getId(), employee.getEmail());
+                eventPublisher.publishEvent(EmployeeChangedEvent.created(EmployeeView.of(employee)));
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    // EmailConflictTranslator already recognised the email constraint on the way out of the repository; the walk
+    // below only covers violations that reach here some other way
+    static RuntimeException translate(DataIntegrityViolationException ex, String email) {
+        if (ex instanceof EmailConflictTranslator.EmailTakenException || isEmailConflict(ex))
+            return new EmployeeConflictException(email, ex);
+        return ex;
+    }
+
+    private static boolean isEmailConflict(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null)
+                return EmailConflictTranslator.isEmailConstraint(violation.getConstraintName());
+        }
+        return EmailConflictTranslator.isEmailConstraint(ex.getMostSpecificCause().getMessage());
+    }
 
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
-        if(savedEmployee.isPresent())
-            throw new ResourceNotFoundException("Employee already exists with given email: "+ employee.getEmail());
+    static boolean isValid(Employee employee) {
+        return employee != null
+                && employee.getFirstName() != null && !employee.getFirstName().isBlank()
+                && employee.getEmail() != null && employee.getEmail().indexOf('@') > 0;
+    }
 
-        return employeeRepository.save(employee);
+    // reads run in read-only transactions (flush mode MANUAL, read-only JDBC connection) and select projections
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeView> getAllEmployees() {
+        return employeeRepository.findAllViews();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeListVersion getEmployeeListVersion() {
+        return employeeRepository.findListVersion();
     }
 
     @Override
-    public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+    @Transactional(readOnly = true)
+    public Slice<EmployeeView> getEmployeesAfter(long afterId, int limit) {
+        return employeeRepository.findViewsAfter(afterId, PageRequest.of(0, limit));
     }
 
+    // projections are never attached to the persistence context, so heap stays flat for the whole table
     @Override
-    public Optional<Employee> getEmployeeById(long id) {
-        return employeeRepository.findById(id);
+    @Transactional(readOnly = true)
+    public void exportEmployees(Consumer<EmployeeView> sink) {
+        try (Stream<EmployeeView> employees = employeeRepository.streamAll()) {
+            employees.forEach(sink);
+        }
     }
 
     @Override
-    public Employee updateEmployee(Employee updEmployee) {
-        return employeeRepository.save(updEmployee);
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_BY_ID, key = "#id")
+    public Optional<EmployeeView> getEmployeeById(long id) {
+        return employeeRepository.findViewById(id);
     }
 
     @Override
-    public void deleteEmployee(long id) {
-        employeeRepository.deleteById(id);
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, key = "#email")
+    public Optional<EmployeeView> getEmployeeByEmail(String email) {
+        return employeeRepository.findViewByEmail(email);
+    }
+
+    @Override
+    public List<EmployeeView> searchEmployees(String query, int limit) {
+        return employeeSearchIndex.search(query, limit);
+    }
+
+    // the previous email of the employee is unknown here, so the whole email cache is dropped. Without If-Match the
+    // new version is unknown too and stays so: reading it back would cost the read PUT is meant to save, so the
+    // entry is evicted instead of refreshed and the response carries no ETag
+    @Override
+    @Transactional
+    @Caching(put = @CachePut(cacheNames = CacheConfig.EMPLOYEES_BY_ID, key = "#id", condition = "#expectedVersion != null"),
+            evict = {@CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_ID, key = "#id", condition = "#expectedVersion == null"),
+                    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, allEntries = true)})
+    public Optional<EmployeeView> updateEmployee(long id, Employee employee, Long expectedVersion) {
+        int updated;
+        try {
+            updated = expectedVersion == null
+                    ? employeeRepository.updateById(id, employee.getFirstName(), employee.getLastName(), employee.getEmail())
+                    : employeeRepository.updateByIdAndVersion(id, expectedVersion, employee.getFirstName(),
+                            employee.getLastName(), employee.getEmail());
+        } catch (DataIntegrityViolationException ex) {
+            throw translate(ex, employee.getEmail());
+        }
+        if (updated == 0) {
+            if (expectedVersion != null)
+                checkVersion(id, expectedVersion);
+            return Optional.empty();
+        }
+
+        // a compare-and-set bumped the version it matched
+        EmployeeView updatedEmployee = new EmployeeView(id, employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), expectedVersion == null ? null : expectedVersion + 1);
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(updatedEmployee));
+        return Optional.of(updatedEmployee);
+    }
+
+    @Override
+    @Transactional
+    @Caching(evict = {@CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, allEntries = true)})
+    public boolean patchEmployee(long id, EmployeePatch patch, Long expectedVersion) {
+        if (patch.isEmpty())
+            return checkVersion(id, expectedVersion);
+        boolean patched;
+        try {
+            patched = employeeRepository.patchById(id, patch, expectedVersion) > 0;
+        } catch (DataIntegrityViolationException ex) {
+            throw translate(ex, patch.email());
+        }
+        if (patched)
+            eventPublisher.publishEvent(EmployeeChangedEvent.patched(id));
+        else if (expectedVersion != null)
+            checkVersion(id, expectedVersion);
+        return patched;
+    }
+
+    @Override
+    @Caching(evict = {@CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, allEntries = true)})
+    @Transactional
+    public boolean deleteEmployee(long id, Long expectedVersion) {
+        boolean deleted = (expectedVersion == null
+                ? employeeRepository.deleteEmployeeById(id)
+                : employeeRepository.deleteEmployeeByIdAndVersion(id, expectedVersion)) > 0;
+        if (deleted)
+            eventPublisher.publishEvent(EmployeeChangedEvent.deleted(id));
+        else if (expectedVersion != null)
+            checkVersion(id, expectedVersion);
+        return deleted;
+    }
+
+    // tells a missing employee (false) from one whose version no longer matches If-Match (412)
+    private boolean checkVersion(long id, Long expectedVersion) {
+        Optional<Long> currentVersion = employeeRepository.findVersionById(id);
+        if (currentVersion.isPresent() && expectedVersion != null && currentVersion.get() != expectedVersion.longValue())
+            throw new PreconditionFailedException(id, expectedVersion, currentVersion.get());
+        return currentVersion.isPresent();
+    }
+
+    @Override
+    @Transactional
+    @Caching(evict = {@CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_ID, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, allEntries = true)})
+    public int deleteEmployees(Collection<Long> ids) {
+        List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        int batchSize = Math.max(1, employeeProperties.getBatch().getSize());
+
+        int deleted = 0;
+        for (int from = 0; from < distinctIds.size(); from += batchSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + batchSize, distinctIds.size()));
+            // only rows that really go away become DELETED events, unknown ids would reach the outbox otherwise
+            List<Long> existingIds = employeeRepository.lockExistingIds(chunk);
+            if (existingIds.isEmpty())
+                continue;
+            deleted += employeeRepository.deleteEmployeesByIds(existingIds);
+            existingIds.forEach(id -> eventPublisher.publishEvent(EmployeeChangedEvent.deleted(id)));
+        }
+        return deleted;
     }
 }
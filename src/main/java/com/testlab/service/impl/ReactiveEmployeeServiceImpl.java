@@ -0,0 +1,162 @@
+package com.testlab.service.impl;
+
+import com.testlab.config.EmployeeProperties;
+import com.testlab.dto.BatchItemResult;
+import com.testlab.dto.EmployeeListVersion;
+import com.testlab.dto.EmployeePatch;
+import com.testlab.dto.EmployeeView;
+import com.testlab.exception.PreconditionFailedException;
+import com.testlab.model.Employee;
+import com.testlab.repository.ReactiveEmployeeRepository;
+import com.testlab.service.ReactiveEmployeeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    private ReactiveEmployeeRepository employeeRepository;
+
+    private EmployeeProperties employeeProperties;
+
+    public ReactiveEmployeeServiceImpl(ReactiveEmployeeRepository employeeRepository,
+                                       EmployeeProperties employeeProperties) {
+        this.employeeRepository = employeeRepository;
+        this.employeeProperties = employeeProperties;
+    }
+
+    @Override
+    public Mono<Employee> saveEmployee(Employee employee) {
+        return employeeRepository.insert(employee)
+                .onErrorMap(DataIntegrityViolationException.class,
+                        ex -> EmployeeServiceImpl.translate(ex, employee.getEmail()));
+    }
+
+    // same per-item outcome as the blocking variant: one existing-email lookup per chunk, then the inserts
+    @Override
+    public Flux<BatchItemResult> saveEmployees(List<Employee> employees) {
+        Set<String> seenEmails = new HashSet<>();
+        int batchSize = Math.max(1, employeeProperties.getBatch().getSize());
+
+        return Flux.range(0, (employees.size() + batchSize - 1) / batchSize)
+                .concatMap(chunk -> {
+                    int from = chunk * batchSize;
+                    int to = Math.min(from + batchSize, employees.size());
+                    List<String> candidateEmails = new ArrayList<>(to - from);
+                    for (int i = from; i < to; i++) {
+                        if (EmployeeServiceImpl.isValid(employees.get(i)))
+                            candidateEmails.add(employees.get(i).getEmail());
+                    }
+                    Mono<Set<String>> existingEmails = candidateEmails.isEmpty()
+                            ? Mono.just(Set.of())
+                            : employeeRepository.findExistingEmails(candidateEmails).collect(Collectors.toSet());
+
+                    return existingEmails.flatMapMany(existing -> Flux.range(from, to - from)
+                            .concatMap(i -> saveBatchItem(i, employees.get(i), existing, seenEmails)));
+                });
+    }
+
+    private Mono<BatchItemResult> saveBatchItem(int index, Employee employee, Set<String> existingEmails,
+                                                Set<String> seenEmails) {
+        if (!EmployeeServiceImpl.isValid(employee))
+            return Mono.just(BatchItemResult.invalid(index, employee == null ? null : employee.getEmail(),
+                    "firstName and a valid email are required"));
+        if (existingEmails.contains(employee.getEmail()) || !seenEmails.add(employee.getEmail()))
+            return Mono.just(BatchItemResult.duplicate(index, employee.getEmail()));
+
+        return employeeRepository.insert(employee)
+                .map(saved -> BatchItemResult.created(index, saved.getId(), saved.getEmail()))
+                .onErrorResume(DataIntegrityViolationException.class,
+                        ex -> Mono.just(BatchItemResult.duplicate(index, employee.getEmail())));
+    }
+
+    @Override
+    public Flux<EmployeeView> getAllEmployees() {
+        return employeeRepository.findAll();
+    }
+
+    @Override
+    public Flux<EmployeeView> getEmployeesAfter(long afterId, int limit) {
+        return employeeRepository.findByIdGreaterThan(afterId, limit);
+    }
+
+    @Override
+    public Mono<EmployeeListVersion> getEmployeeListVersion() {
+        return employeeRepository.findListVersion();
+    }
+
+    @Override
+    public Flux<EmployeeView> searchEmployees(String query, int limit) {
+        if (query == null || query.isBlank())
+            return Flux.empty();
+        return employeeRepository.search(query.trim(), limit);
+    }
+
+    @Override
+    public Mono<EmployeeView> getEmployeeById(long id) {
+        return employeeRepository.findById(id);
+    }
+
+    @Override
+    public Mono<EmployeeView> updateEmployee(long id, Employee employee, Long expectedVersion) {
+        return employeeRepository.updateById(id, employee, expectedVersion)
+                .onErrorMap(DataIntegrityViolationException.class,
+                        ex -> EmployeeServiceImpl.translate(ex, employee.getEmail()))
+                // re-read for the bumped version
+                .flatMap(updated -> updated > 0
+                        ? employeeRepository.findById(id)
+                        : checkVersion(id, expectedVersion).then(Mono.empty()));
+    }
+
+    @Override
+    public Mono<Boolean> patchEmployee(long id, EmployeePatch patch, Long expectedVersion) {
+        if (patch.isEmpty())
+            return checkVersion(id, expectedVersion);
+        return employeeRepository.patchById(id, patch, expectedVersion)
+                .onErrorMap(DataIntegrityViolationException.class,
+                        ex -> EmployeeServiceImpl.translate(ex, patch.email()))
+                .flatMap(updated -> updated > 0
+                        ? Mono.just(true)
+                        : checkVersion(id, expectedVersion).thenReturn(false));
+    }
+
+    @Override
+    public Mono<Boolean> deleteEmployee(long id, Long expectedVersion) {
+        return employeeRepository.deleteById(id, expectedVersion)
+                .flatMap(deleted -> deleted > 0
+                        ? Mono.just(true)
+                        : checkVersion(id, expectedVersion).thenReturn(false));
+    }
+
+    // same as the blocking variant: tells a missing employee (false) from one whose version no longer matches (412)
+    private Mono<Boolean> checkVersion(long id, Long expectedVersion) {
+        return employeeRepository.findVersionById(id)
+                .flatMap(currentVersion -> expectedVersion != null && currentVersion != expectedVersion.longValue()
+                        ? Mono.<Boolean>error(new PreconditionFailedException(id, expectedVersion, currentVersion))
+                        : Mono.just(true))
+                .defaultIfEmpty(false);
+    }
+
+    @Override
+    public Mono<Long> deleteEmployees(Collection<Long> ids) {
+        List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        int batchSize = Math.max(1, employeeProperties.getBatch().getSize());
+
+        return Flux.range(0, (distinctIds.size() + batchSize - 1) / batchSize)
+                .concatMap(chunk -> employeeRepository.deleteByIds(distinctIds.subList(chunk * batchSize,
+                        Math.min((chunk + 1) * batchSize, distinctIds.size()))))
+                .reduce(0L, Long::sum);
+    }
+}
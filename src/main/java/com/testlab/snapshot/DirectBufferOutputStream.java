@@ -0,0 +1,61 @@
+package com.testlab.snapshot;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// Collects written bytes in fixed-size direct buffers, so a large body never needs one contiguous heap array
+class DirectBufferOutputStream extends OutputStream {
+
+    static final int CHUNK_SIZE = 256 * 1024;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+
+    private ByteBuffer current;
+
+    private long size;
+
+    @Override
+    public void write(int b) {
+        ensureSpace();
+        current.put((byte) b);
+        size++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            ensureSpace();
+            int n = Math.min(length, current.remaining());
+            current.put(bytes, offset, n);
+            offset += n;
+            length -= n;
+            size += n;
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    // read-only views positioned at the start of each chunk, callers duplicate() them before reading; the partly
+    // filled last chunk is copied to a buffer of its exact size
+    List<ByteBuffer> toBuffers() {
+        List<ByteBuffer> buffers = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            ByteBuffer chunk = chunks.get(i).duplicate().flip();
+            if (i == chunks.size() - 1 && chunk.remaining() < CHUNK_SIZE)
+                chunk = ByteBuffer.allocateDirect(chunk.remaining()).put(chunk).flip();
+            buffers.add(chunk.asReadOnlyBuffer());
+        }
+        return buffers;
+    }
+
+    private void ensureSpace() {
+        if (current == null || !current.hasRemaining()) {
+            current = ByteBuffer.allocateDirect(CHUNK_SIZE);
+            chunks.add(current);
+        }
+    }
+}
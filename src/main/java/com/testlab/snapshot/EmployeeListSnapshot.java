@@ -0,0 +1,192 @@
+package com.testlab.snapshot;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.testlab.config.EmployeeProperties;
+import com.testlab.dto.EmployeeListVersion;
+import com.testlab.dto.EmployeeView;
+import com.testlab.event.EmployeeChangedEvent;
+import com.testlab.service.EmployeeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+// GET /api/employees served from bytes encoded once: the list is serialized (and gzipped) into direct buffers and
+// reused until a write makes it stale. Rebuilds are lazy - only a request for the list triggers one - and bounded:
+// a snapshot that missed local writes keeps being served (while a rebuild runs in the background) for at most
+// max-staleness after it was taken, after that the request waits for a fresh one. Writes of other instances are
+// caught by comparing the table fingerprint (EmployeeListVersion) once the snapshot is max-staleness old.
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employee.snapshot", name = "enabled", havingValue = "true")
+public class EmployeeListSnapshot implements DisposableBean {
+
+    public record Snapshot(EmployeeListVersion version, List<ByteBuffer> json, long jsonLength,
+                           List<ByteBuffer> gzip, long gzipLength, long writes, long checkedAt) {
+
+        public boolean hasGzip() {
+            return gzip != null;
+        }
+
+        Snapshot checked(long now) {
+            return new Snapshot(version, json, jsonLength, gzip, gzipLength, writes, now);
+        }
+    }
+
+    private EmployeeService employeeService;
+
+    private ObjectWriter writer;
+
+    private ObjectMapper objectMapper;
+
+    private EmployeeProperties.Snapshot properties;
+
+    // committed local writes, a snapshot remembers the count it was taken at
+    private final AtomicLong writes = new AtomicLong();
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private final Object buildLock = new Object();
+
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(Thread.ofPlatform()
+            .name("employee-list-snapshot").daemon().factory());
+
+    private volatile Snapshot current;
+
+    public EmployeeListSnapshot(EmployeeService employeeService, ObjectMapper objectMapper,
+                                EmployeeProperties employeeProperties) {
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writerFor(EmployeeView.class);
+        this.properties = employeeProperties.getSnapshot();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        writes.incrementAndGet();
+    }
+
+    public Snapshot get() {
+        Snapshot snapshot = current;
+        if (snapshot == null)
+            return rebuild(null);
+
+        long now = System.nanoTime();
+        boolean expired = now - snapshot.checkedAt() > properties.getMaxStaleness().toNanos();
+        if (snapshot.writes() != writes.get()) {
+            if (expired)
+                return rebuild(snapshot);
+            rebuildInBackground();
+            return snapshot;
+        }
+        if (!expired)
+            return snapshot;
+
+        // nothing written here, but another instance may have
+        if (employeeService.getEmployeeListVersion().equals(snapshot.version())) {
+            Snapshot checked = snapshot.checked(now);
+            current = checked;
+            return checked;
+        }
+        return rebuild(snapshot);
+    }
+
+    // only the first of the waiting requests builds, the others take its result
+    private Snapshot rebuild(Snapshot stale) {
+        synchronized (buildLock) {
+            Snapshot snapshot = current;
+            if (snapshot != null && snapshot != stale)
+                return snapshot;
+            snapshot = build();
+            current = snapshot;
+            return snapshot;
+        }
+    }
+
+    private void rebuildInBackground() {
+        if (!rebuilding.compareAndSet(false, true))
+            return;
+        rebuilder.execute(() -> {
+            try {
+                Snapshot stale = current;
+                if (stale.writes() != writes.get())
+                    rebuild(stale);
+            } catch (RuntimeException ex) {
+                log.warn("Rebuilding the employee list snapshot failed", ex);
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+    }
+
+    // the write count and the fingerprint are taken before the rows are read, so a write racing with the build
+    // leaves the snapshot marked older than its content and never the other way round
+    private Snapshot build() {
+        long started = System.nanoTime();
+        long writesAtStart = writes.get();
+        EmployeeListVersion version = employeeService.getEmployeeListVersion();
+
+        DirectBufferOutputStream json = new DirectBufferOutputStream();
+        DirectBufferOutputStream gzip = properties.isGzip() ? new DirectBufferOutputStream() : null;
+        try (OutputStream gzipStream = gzip == null ? OutputStream.nullOutputStream() : new GZIPOutputStream(gzip, 8192);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(tee(json, gzip == null ? null : gzipStream))) {
+            generator.writeStartArray();
+            employeeService.exportEmployees(employee -> {
+                try {
+                    writer.writeValue(generator, employee);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            generator.writeEndArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        Snapshot snapshot = new Snapshot(version, json.toBuffers(), json.size(),
+                gzip == null ? null : gzip.toBuffers(), gzip == null ? 0 : gzip.size(), writesAtStart, started);
+        log.debug("Built employee list snapshot {} ({} bytes, {} gzipped) in {}", version, snapshot.jsonLength(),
+                snapshot.gzipLength(), Duration.ofNanos(System.nanoTime() - started));
+        return snapshot;
+    }
+
+    private static OutputStream tee(OutputStream first, OutputStream second) {
+        if (second == null)
+            return first;
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                first.write(b);
+                second.write(b);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                first.write(bytes, offset, length);
+                second.write(bytes, offset, length);
+            }
+        };
+    }
+
+    @Override
+    public void destroy() {
+        rebuilder.shutdownNow();
+    }
+}
@@ -0,0 +1,8 @@
+create table employee_table (
+    id         bigint generated by default as identity,
+    first_name varchar(255),
+    last_name  varchar(255),
+    email      varchar(255),
+    primary key (id),
+    constraint uk_employee_email unique (email)
+);
@@ -0,0 +1,10 @@
+-- change events appended by the same transaction as the write, relayed to GET /api/employees/events in id order
+create table employee_outbox (
+    id          bigint generated by default as identity,
+    event_type  varchar(16)   not null,
+    employee_id bigint        not null,
+    payload     varchar(4000) not null,
+    created_at  timestamp     not null,
+    primary key (id)
+);
+create index idx_employee_outbox_created_at on employee_outbox (created_at);
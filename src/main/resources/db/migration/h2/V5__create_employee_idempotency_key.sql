@@ -0,0 +1,12 @@
+-- responses of requests sent with an Idempotency-Key (employee.idempotency.store=jdbc); status is null while the
+-- first request is still running
+create table employee_idempotency_key (
+    idempotency_key varchar(512)  not null,
+    fingerprint     varchar(64)   not null,
+    status          int,
+    headers         varchar(4000),
+    body            blob,
+    expires_at      timestamp     not null,
+    primary key (idempotency_key)
+);
+create index idx_employee_idempotency_key_expires_at on employee_idempotency_key (expires_at);
@@ -0,0 +1,2 @@
+-- findByJPQL / findByJPQLNamedParams / findByNativeSQL filter on both columns; lookups by email use uk_employee_email
+create index idx_employee_name on employee_table (first_name, last_name);
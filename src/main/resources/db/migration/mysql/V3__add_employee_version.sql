@@ -0,0 +1,2 @@
+-- optimistic-locking version, bumped by every update; exposed as the ETag of GET /api/employees/{id}
+alter table employee_table add column version bigint not null default 0;
@@ -2,6 +2,16 @@ package com.testlab.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.testlab.dto.BatchItemResult;
+import com.testlab.dto.EmployeeListVersion;
+import com.testlab.dto.EmployeePage;
+import com.testlab.dto.EmployeePatch;
+import com.testlab.dto.EmployeeView;
+import com.testlab.dto.ImportSummary;
+import com.testlab.exception.EmployeeConflictException;
+import com.testlab.exception.PreconditionFailedException;
+import com.testlab.importer.EmployeeCsvImporter;
 import com.testlab.model.Employee;
 import com.testlab.service.EmployeeService;
 import org.hamcrest.CoreMatchers;
@@ -12,8 +22,12 @@ import org.mockito.BDDMockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
@@ -22,6 +36,10 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
 
 @WebMvcTest
 public class EmployeeControllerTests {
@@ -32,6 +50,9 @@ public class EmployeeControllerTests {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeCsvImporter csvImporter;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -57,6 +78,77 @@ public class EmployeeControllerTests {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(employee.getEmail())));
     }
 
+    @DisplayName("JUnit test for Create Employee Rest Api with an email that is taken")
+    @Test
+    public void givenExistingEmail_whenCreateEmployee_thenReturn409ProblemDetail() throws Exception {
+        //given
+        Employee employee = Employee.builder().firstName("Santosh").lastName("k").email("sant@gmail.com").build();
+        BDDMockito.given(employeeService.saveEmployee(ArgumentMatchers.any(Employee.class)))
+                .willThrow(new EmployeeConflictException(employee.getEmail(), null));
+
+        //when
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isConflict())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.title", CoreMatchers.is("Employee already exists")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(employee.getEmail())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.trace").doesNotExist());
+    }
+
+    @DisplayName("JUnit test for Create Employee Rest Api with a CBOR body")
+    @Test
+    public void givenCborEmployee_whenCreateEmployee_thenReturnCborEmployee() throws Exception {
+        //given
+        CBORMapper cborMapper = new CBORMapper();
+        Employee employee = Employee.builder().firstName("Santosh").lastName("k").email("sant@gmail.com").build();
+
+        BDDMockito.given(employeeService.saveEmployee(ArgumentMatchers.any(Employee.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(employee)))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        //then
+        Employee saved = cborMapper.readValue(result.getResponse().getContentAsByteArray(), Employee.class);
+        assertThat(saved).isEqualTo(employee);
+    }
+
+    @DisplayName("JUnit test for Bulk Create Employees Rest Api")
+    @Test
+    public void givenEmployeesList_whenCreateEmployees_thenReturnPerItemResults() throws Exception {
+        //given
+        Employee employee1 = Employee.builder().firstName("Santosh").lastName("K").email("sant@gmail.com").build();
+        Employee employee2 = Employee.builder().firstName("Manoj").lastName("K").email("manoj@gmail.com").build();
+
+        BDDMockito.given(employeeService.saveEmployees(ArgumentMatchers.anyList()))
+                .willReturn(List.of(BatchItemResult.created(0, 1L, employee1.getEmail()),
+                        BatchItemResult.duplicate(1, employee2.getEmail())));
+
+        //when
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(employee1, employee2))));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status", CoreMatchers.is("CREATED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status", CoreMatchers.is("DUPLICATE")));
+    }
+
     @DisplayName("JUnit test for Get All Employees Rest Api")
     @Test
     public void givenListOfEmployees_whenGetAllEmployees_thenReturnEmployeesList() throws Exception {
@@ -68,7 +160,8 @@ public class EmployeeControllerTests {
         listOfEmps.add(employee1);
         listOfEmps.add(employee2);
 
-        BDDMockito.given(employeeService.getAllEmployees()).willReturn(listOfEmps);
+        BDDMockito.given(employeeService.getEmployeeListVersion()).willReturn(new EmployeeListVersion(2L, 2L, 0L));
+        BDDMockito.given(employeeService.getAllEmployees()).willReturn(listOfEmps.stream().map(EmployeeView::of).toList());
 
         //when
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees"));
@@ -79,6 +172,87 @@ public class EmployeeControllerTests {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(listOfEmps.size())));
     }
 
+    @DisplayName("JUnit test for Get All Employees Rest Api - unchanged list")
+    @Test
+    public void givenCurrentListETag_whenGetAllEmployees_thenReturn304WithoutLoadingList() throws Exception {
+        //given
+        BDDMockito.given(employeeService.getEmployeeListVersion()).willReturn(new EmployeeListVersion(2L, 2L, 3L));
+
+        //when
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"2-2-3\""));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"2-2-3\""))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+        BDDMockito.then(employeeService).should(never()).getAllEmployees();
+    }
+
+    @DisplayName("JUnit test for Get Employees page Rest Api")
+    @Test
+    public void givenCursorAndLimit_whenGetEmployeesPage_thenReturnPageWithNextCursor() throws Exception {
+        //given
+        Employee employee1 = Employee.builder().id(11L).firstName("Santosh").lastName("K").email("sant@gmail.com").build();
+        Employee employee2 = Employee.builder().id(12L).firstName("Manoj").lastName("K").email("manoj@gmail.com").build();
+
+        BDDMockito.given(employeeService.getEmployeesAfter(10L, 2))
+                .willReturn(new SliceImpl<>(List.of(EmployeeView.of(employee1), EmployeeView.of(employee2)), PageRequest.of(0, 2), true));
+
+        //when
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees")
+                .param("after", EmployeePage.encodeCursor(10L))
+                .param("limit", "2"));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()", CoreMatchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", CoreMatchers.is(EmployeePage.encodeCursor(12L))));
+    }
+
+    @DisplayName("JUnit test for Get Employees page Rest Api with invalid cursor")
+    @Test
+    public void givenInvalidCursor_whenGetEmployeesPage_thenReturn400() throws Exception {
+        //when
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees")
+                .param("after", "not-a-cursor")
+                .param("limit", "2"));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @DisplayName("JUnit test for Export Employees Rest Api")
+    @Test
+    public void givenEmployees_whenExportEmployees_thenStreamNdjson() throws Exception {
+        //given
+        EmployeeView employee1 = new EmployeeView(1L, "Santosh", "K", "sant@gmail.com", 0L);
+        EmployeeView employee2 = new EmployeeView(2L, "Manoj", "K", "manoj@gmail.com", 0L);
+
+        BDDMockito.willAnswer(invocation -> {
+            Consumer<EmployeeView> sink = invocation.getArgument(0);
+            sink.accept(employee1);
+            sink.accept(employee2);
+            return null;
+        }).given(employeeService).exportEmployees(ArgumentMatchers.any());
+
+        //when
+        MvcResult asyncResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/export"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(asyncResult));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        objectMapper.writeValueAsString(employee1) + "\n" + objectMapper.writeValueAsString(employee2) + "\n"));
+    }
+
     //Positive scenario - valid employee id
     @DisplayName("JUnit test for GET employee by id Rest Api")
     @Test
@@ -87,7 +261,7 @@ public class EmployeeControllerTests {
         long empId = 1L;
         Employee employee = Employee.builder().firstName("Santosh").lastName("k").email("sant@gmail.com").build();
 
-        BDDMockito.given(employeeService.getEmployeeById(empId)).willReturn(Optional.of(employee));
+        BDDMockito.given(employeeService.getEmployeeById(empId)).willReturn(Optional.of(EmployeeView.of(employee)));
 
         //when
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}", empId));
@@ -100,6 +274,24 @@ public class EmployeeControllerTests {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(employee.getEmail())));
     }
 
+    @DisplayName("JUnit test for GET employee by id Rest Api - unchanged employee")
+    @Test
+    public void givenCurrentETag_whenGetEmployeeById_thenReturn304() throws Exception {
+        //given
+        long empId = 1L;
+        BDDMockito.given(employeeService.getEmployeeById(empId))
+                .willReturn(Optional.of(new EmployeeView(empId, "Santosh", "k", "sant@gmail.com", 7L)));
+
+        //when
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}", empId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"7\""));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
     //Negative scenario - valid employee id
     @DisplayName("JUnit test for GET employee by id Rest Api")
     @Test
@@ -124,13 +316,10 @@ public class EmployeeControllerTests {
     public void givenUpdatedEmployee_whenUpdateEmployee_thenReturnUpdatedEmployeeObject() throws Exception {
         //given
         long empId = 1L;
-        Employee savedEmp = Employee.builder().firstName("Santosh").lastName("k").email("sant@gmail.com").build();
-
         Employee updatedEmp = Employee.builder().firstName("Sonu").lastName("kumar").email("sonu@gmail.com").build();
 
-        BDDMockito.given(employeeService.getEmployeeById(empId)).willReturn(Optional.of(savedEmp));
-        BDDMockito.given(employeeService.updateEmployee(ArgumentMatchers.any(Employee.class)))
-                .willAnswer(invocation -> invocation.getArgument(0));
+        BDDMockito.given(employeeService.updateEmployee(ArgumentMatchers.eq(empId), ArgumentMatchers.any(Employee.class), ArgumentMatchers.isNull()))
+                .willReturn(Optional.of(new EmployeeView(empId, "Sonu", "kumar", "sonu@gmail.com", null)));
 
         //when
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}", empId)
@@ -142,7 +331,8 @@ public class EmployeeControllerTests {
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.firstName", CoreMatchers.is(updatedEmp.getFirstName())))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.lastName", CoreMatchers.is(updatedEmp.getLastName())))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(updatedEmp.getEmail())));
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(updatedEmp.getEmail())))
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.ETAG));
     }
 
     //JUnit test for update employee REST API - Negative scenario
@@ -151,19 +341,80 @@ public class EmployeeControllerTests {
     public void givenUpdatedEmployee_whenUpdateEmployee_thenReturn404() throws Exception {
         //given
         long empId = 1L;
-        Employee savedEmp = Employee.builder().firstName("Santosh").lastName("k").email("sant@gmail.com").build();
+        Employee updatedEmp = Employee.builder().firstName("Sonu").lastName("kumar").email("sonu@gmail.com").build();
 
+        BDDMockito.given(employeeService.updateEmployee(ArgumentMatchers.eq(empId), ArgumentMatchers.any(Employee.class), ArgumentMatchers.isNull()))
+                .willReturn(Optional.empty());
+
+        //when
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}", empId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmp)));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isNotFound())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    //JUnit test for update employee REST API - stale If-Match
+    @DisplayName("JUnit test for update employee Rest Api with a stale If-Match")
+    @Test
+    public void givenStaleIfMatch_whenUpdateEmployee_thenReturn412() throws Exception {
+        //given
+        long empId = 1L;
         Employee updatedEmp = Employee.builder().firstName("Sonu").lastName("kumar").email("sonu@gmail.com").build();
 
-        BDDMockito.given(employeeService.getEmployeeById(empId)).willReturn(Optional.empty());
-        BDDMockito.given(employeeService.updateEmployee(ArgumentMatchers.any(Employee.class)))
-                .willAnswer(invocation -> invocation.getArgument(0));
+        BDDMockito.given(employeeService.updateEmployee(ArgumentMatchers.eq(empId), ArgumentMatchers.any(Employee.class), ArgumentMatchers.eq(3L)))
+                .willThrow(new PreconditionFailedException(empId, 3L, 4L));
 
         //when
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}", empId)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updatedEmp)));
 
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isPreconditionFailed())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is(412)));
+    }
+
+    //JUnit test for patch employee REST API - Positive scenario
+    @DisplayName("JUnit test for patch employee Rest Api")
+    @Test
+    public void givenEmployeePatch_whenPatchEmployee_thenReturn204() throws Exception {
+        //given
+        long empId = 1L;
+        EmployeePatch patch = new EmployeePatch(null, null, "sonu@gmail.com");
+
+        BDDMockito.given(employeeService.patchEmployee(empId, patch, null)).willReturn(true);
+
+        //when
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.patch("/api/employees/{id}", empId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"sonu@gmail.com\"}"));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isNoContent())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    //JUnit test for patch employee REST API - Negative scenario
+    @DisplayName("JUnit test for patch employee Rest Api")
+    @Test
+    public void givenEmployeePatch_whenPatchMissingEmployee_thenReturn404() throws Exception {
+        //given
+        long empId = 1L;
+
+        BDDMockito.given(employeeService.patchEmployee(ArgumentMatchers.eq(empId), ArgumentMatchers.any(EmployeePatch.class), ArgumentMatchers.isNull()))
+                .willReturn(false);
+
+        //when
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.patch("/api/employees/{id}", empId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lastName\":\"kumar\"}"));
+
         //then
         response.andExpect(MockMvcResultMatchers.status().isNotFound())
                 .andDo(MockMvcResultHandlers.print());
@@ -175,7 +426,7 @@ public class EmployeeControllerTests {
         //given
         long empId = 1L;
 
-        BDDMockito.willDoNothing().given(employeeService).deleteEmployee(empId);
+        BDDMockito.given(employeeService.deleteEmployee(empId, null)).willReturn(true);
 
         //when
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders.delete("/api/employees/{id}", empId));
@@ -184,4 +435,95 @@ public class EmployeeControllerTests {
         response.andExpect(MockMvcResultMatchers.status().isNoContent())
                 .andDo(MockMvcResultHandlers.print());
     }
+
+    @DisplayName("JUnit test for delete Employee Rest Api - missing employee")
+    @Test
+    public void givenMissingEmployeeId_whenDeleteEmployee_thenReturn404() throws Exception {
+        //given
+        long empId = 1L;
+
+        BDDMockito.given(employeeService.deleteEmployee(empId, null)).willReturn(false);
+
+        //when
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.delete("/api/employees/{id}", empId));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isNotFound())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @DisplayName("JUnit test for bulk delete Employees Rest Api")
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenReturnDeletedCount() throws Exception {
+        //given
+        BDDMockito.given(employeeService.deleteEmployees(List.of(1L, 2L, 3L))).willReturn(2);
+
+        //when
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.delete("/api/employees")
+                .param("ids", "1,2,3"));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.requested", CoreMatchers.is(3)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.deleted", CoreMatchers.is(2)));
+    }
+
+    @DisplayName("JUnit test for bulk delete Employees Rest Api - duplicate ids counted once")
+    @Test
+    public void givenDuplicateEmployeeIds_whenDeleteEmployees_thenRequestDistinctIds() throws Exception {
+        //given
+        BDDMockito.given(employeeService.deleteEmployees(List.of(1L, 2L))).willReturn(2);
+
+        //when
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.delete("/api/employees")
+                .param("ids", "1,2,1,2"));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.requested", CoreMatchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.deleted", CoreMatchers.is(2)));
+    }
+
+    @DisplayName("JUnit test for search Employees Rest Api")
+    @Test
+    public void givenQuery_whenSearchEmployees_thenReturnMatches() throws Exception {
+        //given
+        EmployeeView employee = new EmployeeView(1L, "Santosh", "K", "sant@gmail.com", 0L);
+        BDDMockito.given(employeeService.searchEmployees("snat", 20)).willReturn(List.of(employee));
+
+        //when
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/search")
+                .param("q", "snat"));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].email", CoreMatchers.is(employee.email())));
+    }
+
+    @DisplayName("JUnit test for CSV import Rest Api")
+    @Test
+    public void givenCsvBody_whenImportEmployees_thenReturnSummary() throws Exception {
+        //given
+        ImportSummary summary = new ImportSummary(2, 10, 1, 0, 1, 12,
+                List.of(new ImportSummary.RejectedRow(12, "bad", "email is not valid")), null);
+        BDDMockito.given(csvImporter.importCsv(ArgumentMatchers.any(), ArgumentMatchers.eq(EmployeeCsvImporter.ImportOptions.skip(10))))
+                .willReturn(summary);
+
+        //when
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/import")
+                .param("skip", "10")
+                .contentType("text/csv")
+                .content("firstName,lastName,email\nSantosh,k,sant@gmail.com\nRamesh,F,bad\n"));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.committedRows", CoreMatchers.is(12)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rejections[0].reason", CoreMatchers.is("email is not valid")));
+    }
 }
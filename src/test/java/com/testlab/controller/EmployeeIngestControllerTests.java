@@ -0,0 +1,99 @@
+package com.testlab.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testlab.dto.IngestTicket;
+import com.testlab.ingest.EmployeeIngestQueue;
+import com.testlab.model.Employee;
+import com.testlab.service.EmployeeService;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.Optional;
+
+@WebMvcTest({EmployeeController.class, EmployeeIngestController.class})
+@TestPropertySource(properties = "employee.ingest.enabled=true")
+public class EmployeeIngestControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @MockBean
+    private EmployeeIngestQueue ingestQueue;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DisplayName("JUnit test for asynchronous Create Employee Rest Api")
+    @Test
+    public void givenRespondAsync_whenCreateEmployee_thenReturn202WithTicket() throws Exception {
+        //given
+        Employee employee = Employee.builder().firstName("Santosh").lastName("k").email("sant@gmail.com").build();
+        BDDMockito.given(ingestQueue.submit(ArgumentMatchers.any(Employee.class))).willReturn(IngestTicket.pending("t-1"));
+
+        //when
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees")
+                .header(EmployeeIngestController.PREFER, "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.LOCATION, CoreMatchers.endsWith("/api/employees/ingest/t-1")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is("PENDING")));
+        BDDMockito.then(employeeService).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("JUnit test for asynchronous Create Employee Rest Api - full queue")
+    @Test
+    public void givenFullQueue_whenCreateEmployee_thenReturn429() throws Exception {
+        //given
+        BDDMockito.given(ingestQueue.submit(ArgumentMatchers.any(Employee.class))).willReturn(null);
+        BDDMockito.given(ingestQueue.isAccepting()).willReturn(true);
+
+        //when
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees")
+                .header(EmployeeIngestController.PREFER, "respond-async, wait=5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Santosh\",\"email\":\"sant@gmail.com\"}"));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    @DisplayName("JUnit test for GET ingest ticket Rest Api")
+    @Test
+    public void givenCompletedTicket_whenGetTicket_thenReturnOutcome() throws Exception {
+        //given
+        BDDMockito.given(ingestQueue.getTicket("t-1"))
+                .willReturn(Optional.of(new IngestTicket("t-1", IngestTicket.Status.CREATED, 7L, null)));
+
+        //when
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/ingest/{ticket}", "t-1"));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is("CREATED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id", CoreMatchers.is(7)));
+    }
+}
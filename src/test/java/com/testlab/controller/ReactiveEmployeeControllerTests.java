@@ -0,0 +1,203 @@
+package com.testlab.controller;
+
+import com.testlab.dto.EmployeeListVersion;
+import com.testlab.dto.EmployeePage;
+import com.testlab.dto.EmployeeView;
+import com.testlab.exception.PreconditionFailedException;
+import com.testlab.model.Employee;
+import com.testlab.service.ReactiveEmployeeService;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@WebFluxTest(ReactiveEmployeeController.class)
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeControllerTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveEmployeeService employeeService;
+
+    @DisplayName("JUnit test for reactive Create Employee Rest Api")
+    @Test
+    public void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() {
+        //given
+        Employee employee = Employee.builder().firstName("Santosh").lastName("k").email("sant@gmail.com").build();
+        BDDMockito.given(employeeService.saveEmployee(ArgumentMatchers.any(Employee.class)))
+                .willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        //when
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange();
+
+        //then
+        response.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.firstName").value(CoreMatchers.is(employee.getFirstName()))
+                .jsonPath("$.email").value(CoreMatchers.is(employee.getEmail()));
+    }
+
+    @DisplayName("JUnit test for reactive Get Employee By Id Rest Api - negative scenario")
+    @Test
+    public void givenUnknownEmployeeId_whenGetEmployeeById_thenReturnNotFound() {
+        //given
+        BDDMockito.given(employeeService.getEmployeeById(1L)).willReturn(Mono.empty());
+
+        //when
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/{id}", 1L).exchange();
+
+        //then
+        response.expectStatus().isNotFound();
+    }
+
+    @DisplayName("JUnit test for reactive keyset page - extra row becomes the next cursor")
+    @Test
+    public void givenMoreRowsThanLimit_whenGetEmployeesPage_thenReturnNextCursor() {
+        //given
+        BDDMockito.given(employeeService.getEmployeesAfter(0L, 3))
+                .willReturn(Flux.just(view(1L), view(2L), view(3L)));
+
+        //when
+        EmployeePage page = webTestClient.get().uri("/api/employees?limit=2").exchange()
+                .expectStatus().isOk()
+                .expectBody(EmployeePage.class)
+                .returnResult().getResponseBody();
+
+        //then
+        assertThat(page.content()).extracting(EmployeeView::id).containsExactly(1L, 2L);
+        assertThat(page.nextCursor()).isEqualTo(EmployeePage.encodeCursor(2L));
+    }
+
+    @DisplayName("JUnit test for reactive list streamed as NDJSON")
+    @Test
+    public void givenEmployees_whenGetAllAsNdjson_thenStreamOneEmployeePerLine() {
+        //given
+        BDDMockito.given(employeeService.getAllEmployees()).willReturn(Flux.just(view(1L), view(2L)));
+
+        //when
+        List<EmployeeView> employees = webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(EmployeeView.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        //then
+        assertThat(employees).extracting(EmployeeView::id).containsExactly(1L, 2L);
+    }
+
+    @DisplayName("JUnit test for reactive Get Employee By Id Rest Api - matching If-None-Match")
+    @Test
+    public void givenCurrentETag_whenGetEmployeeById_thenReturnNotModified() {
+        //given
+        BDDMockito.given(employeeService.getEmployeeById(1L)).willReturn(Mono.just(view(1L)));
+
+        //when
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/{id}", 1L)
+                .ifNoneMatch("\"0\"")
+                .exchange();
+
+        //then
+        response.expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"");
+    }
+
+    @DisplayName("JUnit test for reactive list - matching If-None-Match skips the rows")
+    @Test
+    public void givenUnchangedList_whenGetAllEmployees_thenReturnNotModified() {
+        //given
+        BDDMockito.given(employeeService.getEmployeeListVersion())
+                .willReturn(Mono.just(new EmployeeListVersion(2L, 2L, 0L)));
+        BDDMockito.given(employeeService.getAllEmployees()).willReturn(Flux.just(view(1L), view(2L)));
+
+        //when
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees")
+                .ifNoneMatch("\"2-2-0\"")
+                .exchange();
+
+        //then
+        response.expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @DisplayName("JUnit test for reactive Update Employee Rest Api - stale If-Match")
+    @Test
+    public void givenStaleIfMatch_whenUpdateEmployee_thenReturnPreconditionFailed() {
+        //given
+        Employee employee = Employee.builder().firstName("Ram").lastName("J").email("ram@gmail.com").build();
+        BDDMockito.given(employeeService.updateEmployee(ArgumentMatchers.eq(1L), ArgumentMatchers.any(Employee.class),
+                        ArgumentMatchers.eq(3L)))
+                .willReturn(Mono.error(new PreconditionFailedException(1L, 3L, 4L)));
+
+        //when
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/employees/{id}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .bodyValue(employee)
+                .exchange();
+
+        //then
+        response.expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED)
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON);
+    }
+
+    @DisplayName("JUnit test for reactive Delete Employee Rest Api - weak If-Match never matches")
+    @Test
+    public void givenWeakIfMatch_whenDeleteEmployee_thenReturnPreconditionFailed() {
+        //when
+        WebTestClient.ResponseSpec response = webTestClient.delete().uri("/api/employees/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .exchange();
+
+        //then
+        response.expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        BDDMockito.then(employeeService).should(Mockito.never())
+                .deleteEmployee(ArgumentMatchers.anyLong(), ArgumentMatchers.any());
+    }
+
+    @DisplayName("JUnit test for reactive search - limit clamped")
+    @Test
+    public void givenLargeLimit_whenSearchEmployees_thenClampLimit() {
+        //given
+        BDDMockito.given(employeeService.searchEmployees("fir", EmployeeController.MAX_SEARCH_RESULTS))
+                .willReturn(Flux.just(view(1L)));
+
+        //when
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/search?q=fir&limit=5000")
+                .exchange();
+
+        //then
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(1);
+    }
+
+    private static EmployeeView view(long id) {
+        return new EmployeeView(id, "First" + id, "Last" + id, "e" + id + "@gmail.com", 0L);
+    }
+}
@@ -0,0 +1,103 @@
+package com.testlab.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.testlab.dto.EmployeeView;
+import com.testlab.model.Employee;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The reactive profile booted end to end on in-memory H2: Flyway migrates over JDBC, the API runs on R2DBC
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.flyway.url=jdbc:h2:mem:reactive;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.flyway.user=sa",
+        "spring.flyway.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive?options=MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password="
+})
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeStackTests {
+
+    @Autowired
+    private ReactiveWebServerApplicationContext context;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @DisplayName("JUnit test for the reactive profile serving on Reactor Netty")
+    @Test
+    public void givenServletStarterOnClasspath_whenReactiveProfile_thenServeOnNetty() {
+        //then
+        assertThat(context.getWebServer()).isInstanceOf(NettyWebServer.class);
+    }
+
+    @DisplayName("JUnit test for JSON staying the default with CBOR on the classpath")
+    @Test
+    public void givenNoAccept_whenCreateAndListEmployees_thenAnswerJson() {
+        //given
+        Employee employee = Employee.builder().firstName("Santosh").lastName("K").email("json@gmail.com").build();
+
+        //when
+        WebTestClient.ResponseSpec created = webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange();
+        WebTestClient.ResponseSpec listed = webTestClient.get().uri("/api/employees").exchange();
+
+        //then
+        created.expectStatus().isCreated()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody().jsonPath("$.email").isEqualTo("json@gmail.com");
+        listed.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody().jsonPath("$[?(@.email == 'json@gmail.com')].firstName").isEqualTo("Santosh");
+    }
+
+    @DisplayName("JUnit test for JSON problem details with CBOR on the classpath")
+    @Test
+    public void givenWeakIfMatch_whenUpdateEmployee_thenAnswerJsonProblem() {
+        //when
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/employees/{id}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "W/\"1\"")
+                .bodyValue(Employee.builder().firstName("A").lastName("B").email("problem@gmail.com").build())
+                .exchange();
+
+        //then
+        response.expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED)
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON);
+    }
+
+    @DisplayName("JUnit test for CBOR on an explicit Accept")
+    @Test
+    public void givenCborAccept_whenListEmployees_thenAnswerCborArray() throws Exception {
+        //given
+        Employee employee = Employee.builder().firstName("Santosh").lastName("K").email("cbor@gmail.com").build();
+        webTestClient.post().uri("/api/employees").contentType(MediaType.APPLICATION_JSON).bodyValue(employee)
+                .exchange().expectStatus().isCreated();
+
+        //when
+        byte[] list = webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        //then
+        EmployeeView[] employees = new ObjectMapper(new CBORFactory()).readValue(list, EmployeeView[].class);
+        assertThat(employees).extracting(EmployeeView::email).contains("cbor@gmail.com");
+    }
+}
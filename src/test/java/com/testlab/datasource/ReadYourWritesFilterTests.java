@@ -0,0 +1,74 @@
+package com.testlab.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadYourWritesFilterTests {
+
+    private static final Duration WINDOW = Duration.ofSeconds(2);
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(WINDOW);
+
+    @AfterEach
+    public void tearDown(){
+        ReadYourWrites.clear();
+    }
+
+    @DisplayName("JUnit test for a write keeping the client's next request on the primary")
+    @Test
+    public void givenWriteInFirstRequest_whenNextRequestSendsCookieBack_thenReadsStayOnPrimary() throws Exception {
+        //given
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/employees"), writeResponse,
+                (request, response) -> ReadYourWrites.markWrite(WINDOW));
+        Cookie cookie = writeResponse.getCookie(ReadYourWritesFilter.PRIMARY_UNTIL_COOKIE);
+
+        //when
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/employees/1");
+        read.setCookies(cookie);
+        AtomicBoolean onPrimary = new AtomicBoolean();
+        filter.doFilter(read, new MockHttpServletResponse(), (request, response) -> onPrimary.set(ReadYourWrites.isActive()));
+
+        //then
+        assertThat(writeResponse.getHeader(HttpHeaders.SET_COOKIE)).contains("Path=/api", "HttpOnly");
+        assertThat(onPrimary).isTrue();
+        assertThat(ReadYourWrites.isActive()).isFalse();
+    }
+
+    @DisplayName("JUnit test for an expired or forged cookie")
+    @Test
+    public void givenExpiredAndFarFutureCookies_whenRead_thenWindowIsDroppedOrCapped() throws Exception {
+        //given
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/api/employees/1");
+        expired.setCookies(new Cookie(ReadYourWritesFilter.PRIMARY_UNTIL_COOKIE, Long.toString(System.currentTimeMillis() - 1)));
+        MockHttpServletRequest forged = new MockHttpServletRequest("GET", "/api/employees/1");
+        forged.setCookies(new Cookie(ReadYourWritesFilter.PRIMARY_UNTIL_COOKIE, Long.toString(Long.MAX_VALUE)));
+
+        //when
+        AtomicBoolean expiredOnPrimary = new AtomicBoolean(true);
+        filter.doFilter(expired, new MockHttpServletResponse(), (request, response) -> expiredOnPrimary.set(ReadYourWrites.isActive()));
+        AtomicBoolean forgedOnPrimaryAfterWindow = new AtomicBoolean(true);
+        new ReadYourWritesFilter(Duration.ofMillis(20)).doFilter(forged, new MockHttpServletResponse(), (request, response) -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            forgedOnPrimaryAfterWindow.set(ReadYourWrites.isActive());
+        });
+
+        //then
+        assertThat(expiredOnPrimary).isFalse();
+        assertThat(forgedOnPrimaryAfterWindow).isFalse();
+    }
+}
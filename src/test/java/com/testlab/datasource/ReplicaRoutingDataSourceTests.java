@@ -0,0 +1,108 @@
+package com.testlab.datasource;
+
+import com.testlab.dto.EmployeeView;
+import com.testlab.model.Employee;
+import com.testlab.service.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two embedded H2 databases stand in for the MySQL primary and a replica; the replica deliberately does not
+// replicate, so every row shows which side a read went to. replica-1 points at a server that is not running.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "employee.cache.enabled=false",
+        "employee.datasource.routing.enabled=true",
+        "employee.datasource.routing.replicas[0].url=jdbc:h2:tcp://localhost:1/replica-down",
+        "employee.datasource.routing.replicas[0].username=sa",
+        "employee.datasource.routing.replicas[1].url=" + ReplicaRoutingDataSourceTests.REPLICA_URL,
+        "employee.datasource.routing.replicas[1].username=sa",
+        "employee.datasource.routing.connection-timeout=250ms",
+        "employee.datasource.routing.health-check-interval=1h"
+})
+public class ReplicaRoutingDataSourceTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaDataSource;
+
+    @BeforeAll
+    public static void createReplicaSchema(){
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/h2/V1__create_employee_table.sql"),
+                new ClassPathResource("db/migration/h2/V2__add_employee_name_index.sql"),
+                new ClassPathResource("db/migration/h2/V3__add_employee_version.sql")).execute(dataSource);
+        replica = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    public void tearDown(){
+        ReadYourWrites.clear();
+    }
+
+    @DisplayName("JUnit test for reads going to the healthy replica")
+    @Test
+    public void givenRowOnlyOnReplica_whenGetEmployeeByEmail_thenReadIsServedByHealthyReplica(){
+        //given
+        replica.update("insert into employee_table (id, first_name, last_name, email) values (1000, 'Replica', 'Only', 'replica@gmail.com')");
+
+        //when
+        Optional<EmployeeView> first = employeeService.getEmployeeByEmail("replica@gmail.com");
+        Optional<EmployeeView> second = employeeService.getEmployeeByEmail("replica@gmail.com");
+
+        //then
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+        assertThat(replicaDataSource.getHealthyReplicas()).containsExactly("replica-2");
+    }
+
+    @DisplayName("JUnit test for writes and read-your-writes staying on the primary")
+    @Test
+    public void givenSavedEmployee_whenGetEmployeeByEmail_thenReadsOwnWriteUntilWindowIsCleared(){
+        //given
+        Employee employee = Employee.builder().firstName("Santosh").lastName("K").email("primary@gmail.com").build();
+
+        //when
+        employeeService.saveEmployee(employee);
+
+        //then
+        assertThat(replica.queryForObject("select count(*) from employee_table where email = 'primary@gmail.com'", Integer.class)).isZero();
+        assertThat(employeeService.getEmployeeByEmail("primary@gmail.com")).isPresent();
+        ReadYourWrites.clear();
+        assertThat(employeeService.getEmployeeByEmail("primary@gmail.com")).isEmpty();
+    }
+
+    @DisplayName("JUnit test for pinned reads going to the primary")
+    @Test
+    public void givenPinnedThread_whenGetEmployeeByEmail_thenReadIsServedByPrimary(){
+        //given
+        replica.update("insert into employee_table (id, first_name, last_name, email) values (2000, 'Replica', 'Pinned', 'pinned@gmail.com')");
+        ReadYourWrites.pin();
+
+        //when
+        Optional<EmployeeView> employee = employeeService.getEmployeeByEmail("pinned@gmail.com");
+
+        //then
+        assertThat(employee).isEmpty();
+    }
+}
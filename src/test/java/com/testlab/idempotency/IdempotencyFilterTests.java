@@ -0,0 +1,128 @@
+package com.testlab.idempotency;
+
+import com.testlab.config.EmployeeProperties;
+import com.testlab.config.IdempotencyConfig;
+import com.testlab.controller.EmployeeController;
+import com.testlab.model.Employee;
+import com.testlab.service.EmployeeService;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@WebMvcTest(EmployeeController.class)
+@Import(IdempotencyConfig.class)
+@EnableConfigurationProperties(EmployeeProperties.class)
+@TestPropertySource(properties = "employee.idempotency.enabled=true")
+public class IdempotencyFilterTests {
+
+    private static final String BODY = "{\"firstName\":\"Santosh\",\"lastName\":\"k\",\"email\":\"sant@gmail.com\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @DisplayName("JUnit test for retrying Create Employee with the same Idempotency-Key")
+    @Test
+    public void givenSameKey_whenCreateEmployeeTwice_thenSavedOnceAndReplayed() throws Exception {
+        //given
+        BDDMockito.given(employeeService.saveEmployee(ArgumentMatchers.any(Employee.class)))
+                .willReturn(Employee.builder().id(1L).firstName("Santosh").lastName("k").email("sant@gmail.com").build());
+        mockMvc.perform(create("key-1", BODY)).andExpect(MockMvcResultMatchers.status().isCreated());
+
+        //when
+        ResultActions response = mockMvc.perform(create("key-1", BODY));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isCreated())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.header().string(IdempotencyFilter.REPLAYED, "true"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id", CoreMatchers.is(1)));
+        BDDMockito.then(employeeService).should().saveEmployee(ArgumentMatchers.any(Employee.class));
+    }
+
+    @DisplayName("JUnit test for reusing an Idempotency-Key for a different payload")
+    @Test
+    public void givenUsedKey_whenCreateDifferentEmployee_thenReturn422() throws Exception {
+        //given
+        BDDMockito.given(employeeService.saveEmployee(ArgumentMatchers.any(Employee.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        mockMvc.perform(create("key-2", BODY)).andExpect(MockMvcResultMatchers.status().isCreated());
+
+        //when
+        ResultActions response = mockMvc.perform(create("key-2", BODY.replace("Santosh", "Ramesh")));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isUnprocessableEntity())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+        BDDMockito.then(employeeService).should().saveEmployee(ArgumentMatchers.any(Employee.class));
+    }
+
+    @DisplayName("JUnit test for a concurrent duplicate of an in-flight Create Employee")
+    @Test
+    public void givenInFlightKey_whenConcurrentDuplicate_thenWaitsForFirstResponse() throws Exception {
+        //given
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BDDMockito.given(employeeService.saveEmployee(ArgumentMatchers.any(Employee.class))).willAnswer(invocation -> {
+            saving.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            Employee employee = invocation.getArgument(0);
+            employee.setId(1L);
+            return employee;
+        });
+        CompletableFuture<MvcResult> first = CompletableFuture.supplyAsync(() -> perform(create("key-3", BODY)));
+        assertThat(saving.await(10, TimeUnit.SECONDS)).isTrue();
+
+        //when
+        CompletableFuture<MvcResult> duplicate = CompletableFuture.supplyAsync(() -> perform(create("key-3", BODY)));
+        release.countDown();
+
+        //then
+        assertThat(first.get(10, TimeUnit.SECONDS).getResponse().getStatus()).isEqualTo(201);
+        MvcResult replayed = duplicate.get(10, TimeUnit.SECONDS);
+        assertThat(replayed.getResponse().getStatus()).isEqualTo(201);
+        assertThat(replayed.getResponse().getHeader(IdempotencyFilter.REPLAYED)).isEqualTo("true");
+        assertThat(replayed.getResponse().getContentAsString()).isEqualTo(first.get().getResponse().getContentAsString());
+        BDDMockito.then(employeeService).should().saveEmployee(ArgumentMatchers.any(Employee.class));
+    }
+
+    private static MockHttpServletRequestBuilder create(String key, String body) {
+        return MockMvcRequestBuilders.post("/api/employees")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request) {
+        try {
+            return mockMvc.perform(request).andReturn();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.testlab.idempotency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StripedIdempotencyStoreTests {
+
+    private static final StoredResponse CREATED = new StoredResponse(201, Map.of(), "{\"id\":1}".getBytes());
+
+    @DisplayName("JUnit test for claiming a new, an in-flight and a completed key")
+    @Test
+    public void givenKey_whenClaimedAgain_thenInFlightUntilCompleted() {
+        //given
+        StripedIdempotencyStore store = new StripedIdempotencyStore(4, Duration.ofMinutes(1), 100);
+
+        //when
+        IdempotencyStore.Claim first = store.claim("k1", "f1");
+        IdempotencyStore.Claim second = store.claim("k1", "f1");
+        store.complete("k1", CREATED);
+        IdempotencyStore.Claim third = store.claim("k1", "f1");
+
+        //then
+        assertThat(first).isInstanceOf(IdempotencyStore.Acquired.class);
+        assertThat(second).isInstanceOf(IdempotencyStore.InFlight.class);
+        assertThat(((IdempotencyStore.InFlight) second).result()).isCompletedWithValue(CREATED);
+        assertThat(third).isEqualTo(new IdempotencyStore.Completed("f1", CREATED));
+    }
+
+    @DisplayName("JUnit test for releasing a key")
+    @Test
+    public void givenReleasedKey_whenClaim_thenWaitersWokenAndKeyAcquiredAgain() {
+        //given
+        StripedIdempotencyStore store = new StripedIdempotencyStore(4, Duration.ofMinutes(1), 100);
+        store.claim("k1", "f1");
+        IdempotencyStore.InFlight waiter = (IdempotencyStore.InFlight) store.claim("k1", "f1");
+
+        //when
+        store.release("k1");
+
+        //then
+        assertThat(waiter.result()).isCompletedWithValue(null);
+        assertThat(store.claim("k1", "f1")).isInstanceOf(IdempotencyStore.Acquired.class);
+    }
+
+    @DisplayName("JUnit test for expiring keys after the ttl")
+    @Test
+    public void givenExpiredKey_whenClaim_thenAcquiredAgain() {
+        //given
+        StripedIdempotencyStore store = new StripedIdempotencyStore(1, Duration.ZERO, 100);
+        store.claim("k1", "f1");
+        store.complete("k1", CREATED);
+
+        //when
+        IdempotencyStore.Claim claim = store.claim("k1", "f2");
+
+        //then
+        assertThat(claim).isInstanceOf(IdempotencyStore.Acquired.class);
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for dropping the oldest completed keys beyond maxKeys")
+    @Test
+    public void givenMaxKeys_whenMoreKeysClaimed_thenOldestCompletedDroppedAndInFlightKept() {
+        //given
+        StripedIdempotencyStore store = new StripedIdempotencyStore(1, Duration.ofMinutes(1), 2);
+        store.claim("k1", "f1");
+        store.claim("k2", "f1");
+        store.complete("k2", CREATED);
+
+        //when
+        IdempotencyStore.Claim claim = store.claim("k3", "f1");
+
+        //then
+        assertThat(claim).isInstanceOf(IdempotencyStore.Acquired.class);
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.claim("k1", "f1")).isInstanceOf(IdempotencyStore.InFlight.class);
+        assertThat(store.claim("k2", "f1")).isInstanceOf(IdempotencyStore.Full.class);
+    }
+
+    @DisplayName("JUnit test for keeping in-flight keys past their ttl")
+    @Test
+    public void givenExpiredInFlightKey_whenClaimedAgain_thenStillInFlight() {
+        //given
+        StripedIdempotencyStore store = new StripedIdempotencyStore(1, Duration.ZERO, 100);
+        store.claim("k1", "f1");
+
+        //when
+        store.claim("k2", "f1");
+        IdempotencyStore.Claim retry = store.claim("k1", "f1");
+
+        //then
+        assertThat(retry).isInstanceOf(IdempotencyStore.InFlight.class);
+        assertThat(store.size()).isEqualTo(2);
+    }
+}
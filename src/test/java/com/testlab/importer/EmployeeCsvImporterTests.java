@@ -0,0 +1,153 @@
+package com.testlab.importer;
+
+import com.testlab.config.EmployeeProperties;
+import com.testlab.dto.BatchItemResult;
+import com.testlab.dto.ImportSummary;
+import com.testlab.model.Employee;
+import com.testlab.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeCsvImporterTests {
+
+    private static final String CSV = """
+            First Name,last_name,EMAIL,department
+            Santosh,  k ,Sant@Gmail.com ,IT
+            Ramesh,Fadatare,not-an-email,IT
+            Suresh,k,suresh@gmail.com,HR
+            Mahesh,k,sant@gmail.com,HR
+            ,k,nobody@gmail.com,HR
+            """;
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @TempDir
+    private Path tempDir;
+
+    private final EmployeeProperties employeeProperties = new EmployeeProperties();
+
+    private EmployeeCsvImporter csvImporter;
+
+    @BeforeEach
+    public void setup(){
+        employeeProperties.getImporter().setCommitInterval(2);
+        csvImporter = new EmployeeCsvImporter(employeeService, employeeProperties);
+    }
+
+    @DisplayName("JUnit test for importing CSV in commit-interval chunks with normalized, validated rows")
+    @Test
+    public void givenCsv_whenImportCsv_thenValidRowsAreSavedPerChunkAndRejectsSummarized() throws Exception {
+        //given
+        List<String> committed = new ArrayList<>();
+        BDDMockito.given(employeeService.saveEmployees(ArgumentMatchers.anyList()))
+                .willAnswer(invocation -> save(invocation.getArgument(0), committed));
+
+        //when
+        ImportSummary summary = csvImporter.importCsv(stream(CSV), EmployeeCsvImporter.ImportOptions.skip(0));
+
+        //then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Employee>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(employeeService, times(2)).saveEmployees(chunks.capture());
+        assertThat(chunks.getAllValues().get(0)).singleElement().satisfies(employee -> {
+            assertThat(employee.getLastName()).isEqualTo("k");
+            assertThat(employee.getEmail()).isEqualTo("sant@gmail.com");
+        });
+        assertThat(summary.rowsRead()).isEqualTo(5);
+        assertThat(summary.created()).isEqualTo(2);
+        assertThat(summary.duplicates()).isEqualTo(1);
+        assertThat(summary.invalid()).isEqualTo(2);
+        assertThat(summary.committedRows()).isEqualTo(5);
+        assertThat(summary.error()).isNull();
+        assertThat(summary.rejections()).extracting(ImportSummary.RejectedRow::row).containsExactly(2L, 4L, 5L);
+    }
+
+    @DisplayName("JUnit test for resuming a file import after the last checkpoint")
+    @Test
+    public void givenFailedChunk_whenImportFileAgain_thenImportResumesAfterCheckpoint() throws Exception {
+        //given
+        Path file = tempDir.resolve("employees.csv");
+        Files.writeString(file, CSV);
+        List<String> committed = new ArrayList<>();
+        BDDMockito.given(employeeService.saveEmployees(ArgumentMatchers.anyList()))
+                .willAnswer(invocation -> save(invocation.getArgument(0), committed))
+                .willThrow(new DataAccessResourceFailureException("connection lost"))
+                .willAnswer(invocation -> save(invocation.getArgument(0), committed));
+        assertThatThrownBy(() -> csvImporter.importFile(file)).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(Files.readString(tempDir.resolve("employees.csv.checkpoint"))).isEqualTo("2");
+
+        //when
+        ImportSummary summary = csvImporter.importFile(file);
+
+        //then
+        assertThat(summary.skipped()).isEqualTo(2);
+        assertThat(summary.rowsRead()).isEqualTo(3);
+        assertThat(summary.committedRows()).isEqualTo(5);
+        assertThat(committed).containsExactly("sant@gmail.com", "suresh@gmail.com");
+        assertThat(tempDir.resolve("employees.csv.checkpoint")).doesNotExist();
+        assertThat(Files.readAllLines(tempDir.resolve("employees.csv.rejected.csv")))
+                .hasSize(4)
+                .anyMatch(line -> line.startsWith("4,") && line.contains("duplicate email"));
+    }
+
+    @DisplayName("JUnit test for stopping at malformed CSV with the committed rows reported")
+    @Test
+    public void givenMalformedCsv_whenImportCsv_thenSummaryReportsErrorAndCommittedRows() throws Exception {
+        //given
+        employeeProperties.getImporter().setCommitInterval(1);
+        List<String> committed = new ArrayList<>();
+        BDDMockito.given(employeeService.saveEmployees(ArgumentMatchers.anyList()))
+                .willAnswer(invocation -> save(invocation.getArgument(0), committed));
+        String csv = "firstName,lastName,email\nSantosh,k,sant@gmail.com\nRamesh,\"unterminated,ramesh@gmail.com\n";
+
+        //when
+        ImportSummary summary = csvImporter.importCsv(stream(csv), EmployeeCsvImporter.ImportOptions.skip(0));
+
+        //then
+        assertThat(summary.committedRows()).isEqualTo(1);
+        assertThat(summary.created()).isEqualTo(1);
+        assertThat(summary.error()).isNotNull();
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // in-chunk and earlier-chunk duplicates, as saveEmployees reports them
+    private static List<BatchItemResult> save(List<Employee> employees, List<String> committed) {
+        List<BatchItemResult> results = new ArrayList<>();
+        for (int i = 0; i < employees.size(); i++) {
+            String email = employees.get(i).getEmail();
+            if (committed.contains(email)) {
+                results.add(BatchItemResult.duplicate(i, email));
+            } else {
+                committed.add(email);
+                results.add(BatchItemResult.created(i, committed.size(), email));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,152 @@
+package com.testlab.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testlab.config.EmployeeProperties;
+import com.testlab.dto.BatchItemResult;
+import com.testlab.dto.IngestTicket;
+import com.testlab.model.Employee;
+import com.testlab.service.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeIngestQueueTests {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @TempDir
+    private Path tempDir;
+
+    private final EmployeeProperties employeeProperties = new EmployeeProperties();
+
+    private EmployeeIngestQueue ingestQueue;
+
+    @BeforeEach
+    public void setup() {
+        employeeProperties.getIngest().setSpillFile(tempDir.resolve("spill.ndjson"));
+        employeeProperties.getIngest().setMaxWait(Duration.ofMillis(200));
+        ingestQueue = new EmployeeIngestQueue(employeeService, employeeProperties, new ObjectMapper());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (ingestQueue.isRunning())
+            ingestQueue.stop();
+    }
+
+    @DisplayName("JUnit test for coalescing queued creates into one batch")
+    @Test
+    public void givenBurstOfCreates_whenWriterDrains_thenOneBatchInsertCompletesEveryTicket() {
+        //given
+        BDDMockito.given(employeeService.saveEmployees(ArgumentMatchers.anyList())).willAnswer(invocation -> created(invocation.getArgument(0)));
+        ingestQueue.start();
+
+        //when
+        List<IngestTicket> tickets = IntStream.range(0, 3).mapToObj(i -> ingestQueue.submit(employee(i))).toList();
+
+        //then
+        tickets.forEach(ticket -> awaitStatus(ingestQueue, ticket, IngestTicket.Status.CREATED));
+        verify(employeeService, times(1)).saveEmployees(ArgumentMatchers.argThat(employees -> employees.size() == 3));
+    }
+
+    @DisplayName("JUnit test for rejecting creates while the queue is full")
+    @Test
+    public void givenFullQueue_whenSubmit_thenRejectUntilWriterCatchesUp() throws Exception {
+        //given
+        employeeProperties.getIngest().setQueueCapacity(2);
+        employeeProperties.getIngest().setMaxBatch(1);
+        CountDownLatch slowDatabase = new CountDownLatch(1);
+        BDDMockito.given(employeeService.saveEmployees(ArgumentMatchers.anyList())).willAnswer(invocation -> {
+            slowDatabase.await();
+            return created(invocation.getArgument(0));
+        });
+        ingestQueue.start();
+        IngestTicket first = ingestQueue.submit(employee(0));
+        await().atMost(Duration.ofSeconds(5)).until(() -> ingestQueue.getQueued() == 0);
+
+        //when
+        IngestTicket second = ingestQueue.submit(employee(1));
+        IngestTicket third = ingestQueue.submit(employee(2));
+        IngestTicket rejected = ingestQueue.submit(employee(3));
+
+        //then
+        assertThat(second).isNotNull();
+        assertThat(third).isNotNull();
+        assertThat(rejected).isNull();
+        assertThat(ingestQueue.isAccepting()).isTrue();
+        slowDatabase.countDown();
+        List.of(first, second, third).forEach(ticket -> awaitStatus(ingestQueue, ticket, IngestTicket.Status.CREATED));
+    }
+
+    @DisplayName("JUnit test for spilling queued creates on shutdown and replaying them on start")
+    @Test
+    public void givenStuckWriter_whenStop_thenQueuedCreatesAreSpilledAndReplayedOnStart() throws Exception {
+        //given
+        employeeProperties.getIngest().setMaxBatch(1);
+        employeeProperties.getIngest().setDrainTimeout(Duration.ofMillis(100));
+        BDDMockito.given(employeeService.saveEmployees(ArgumentMatchers.anyList())).willAnswer(invocation -> {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            throw new QueryTimeoutException("interrupted");
+        });
+        ingestQueue.start();
+        IngestTicket first = ingestQueue.submit(employee(0));
+        await().atMost(Duration.ofSeconds(5)).until(() -> ingestQueue.getQueued() == 0);
+        IngestTicket second = ingestQueue.submit(employee(1));
+
+        //when
+        ingestQueue.stop();
+
+        //then
+        assertThat(Files.readAllLines(tempDir.resolve("spill.ndjson"))).hasSize(2);
+
+        EmployeeService restartedService = Mockito.mock(EmployeeService.class);
+        BDDMockito.given(restartedService.saveEmployees(ArgumentMatchers.anyList())).willAnswer(invocation -> created(invocation.getArgument(0)));
+        ingestQueue = new EmployeeIngestQueue(restartedService, employeeProperties, new ObjectMapper());
+        ingestQueue.start();
+        awaitStatus(ingestQueue, first, IngestTicket.Status.CREATED);
+        awaitStatus(ingestQueue, second, IngestTicket.Status.CREATED);
+        assertThat(tempDir.resolve("spill.ndjson")).doesNotExist();
+    }
+
+    private static Employee employee(int i) {
+        return Employee.builder().firstName("First" + i).lastName("Last" + i).email("ingest" + i + "@gmail.com").build();
+    }
+
+    private static List<BatchItemResult> created(List<Employee> employees) {
+        return IntStream.range(0, employees.size())
+                .mapToObj(i -> BatchItemResult.created(i, 100L + i, employees.get(i).getEmail()))
+                .toList();
+    }
+
+    private static void awaitStatus(EmployeeIngestQueue ingestQueue, IngestTicket ticket, IngestTicket.Status status) {
+        await().atMost(Duration.ofSeconds(5)).until(() ->
+                ingestQueue.getTicket(ticket.ticket()).map(IngestTicket::status).orElse(null) == status);
+    }
+}
@@ -13,6 +13,7 @@ public abstract class AbstractionBaseContainerTest {
                 .withDatabaseName("ems")
                 .withUsername("root")
                 .withPassword("root");
+        MYSQL_CONTAINER.withUrlParam("rewriteBatchedStatements", "true");
 
         MYSQL_CONTAINER.start();
     }
@@ -0,0 +1,71 @@
+package com.testlab.integration;
+
+import com.testlab.dto.BatchItemResult;
+import com.testlab.dto.BatchItemStatus;
+import com.testlab.model.Employee;
+import com.testlab.repository.EmployeeRepository;
+import com.testlab.service.EmployeeService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compares rows/sec of the single-item create path with POST /api/employees/batch - needs docker running
+
+@Slf4j
+@SpringBootTest
+public class EmployeeBatchInsertBenchmarkIT extends AbstractionBaseContainerTest {
+
+    private static final int ROWS = 5_000;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void setup() {
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void givenSameRowCount_whenInsertSingleAndBatch_thenReportRowsPerSecond() {
+        //given
+        List<Employee> singles = employees("single", ROWS);
+        List<Employee> batch = employees("batch", ROWS);
+
+        //when
+        long start = System.nanoTime();
+        singles.forEach(employeeService::saveEmployee);
+        double singleRowsPerSec = ROWS / ((System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        List<BatchItemResult> results = employeeService.saveEmployees(batch);
+        double batchRowsPerSec = ROWS / ((System.nanoTime() - start) / 1e9);
+
+        log.info("single-item: {} rows/sec, batch: {} rows/sec ({}x)", Math.round(singleRowsPerSec),
+                Math.round(batchRowsPerSec), String.format("%.1f", batchRowsPerSec / singleRowsPerSec));
+
+        //then
+        assertThat(results).allMatch(result -> result.status() == BatchItemStatus.CREATED);
+        assertThat(employeeRepository.count()).isEqualTo(2L * ROWS);
+        // one IN query and one multi-row INSERT per chunk against a round trip per row
+        assertThat(batchRowsPerSec).isGreaterThan(2 * singleRowsPerSec);
+    }
+
+    private static List<Employee> employees(String prefix, int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(Employee.builder().firstName("First" + i).lastName("Last" + i)
+                    .email(prefix + i + "@gmail.com").build());
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,112 @@
+package com.testlab.integration;
+
+import com.testlab.exception.EmployeeConflictException;
+import com.testlab.model.Employee;
+import com.testlab.repository.EmployeeRepository;
+import com.testlab.service.EmployeeService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Hammers creates with colliding emails from many threads - needs docker running
+
+@Slf4j
+@SpringBootTest
+public class EmployeeCreateStressIT extends AbstractionBaseContainerTest {
+
+    private static final int THREADS = 16;
+    private static final int CREATES_PER_THREAD = 250;
+    private static final int DISTINCT_EMAILS = 200;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void setup() {
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void givenCollidingEmails_whenCreateConcurrently_thenNoDuplicatesAreStored() throws Exception {
+        //given
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger duplicates = new AtomicInteger();
+
+        //when - single INSERT guarded by the unique email constraint
+        double constraintRate = hammer("constraint", (employee) -> {
+            try {
+                employeeService.saveEmployee(employee);
+                created.incrementAndGet();
+            } catch (EmployeeConflictException ex) {
+                duplicates.incrementAndGet();
+            }
+        });
+
+        //and - the previous findByEmail + save check-then-act path, for comparison
+        AtomicInteger passedCheckButRejected = new AtomicInteger();
+        double checkThenActRate = hammer("legacy", (employee) -> {
+            if (employeeRepository.findByEmail(employee.getEmail()).isPresent())
+                return;
+            try {
+                employeeRepository.save(employee);
+            } catch (DataIntegrityViolationException ex) {
+                passedCheckButRejected.incrementAndGet();
+            }
+        });
+
+        log.info("constraint: {} creates/sec, check-then-act: {} creates/sec, "
+                        + "check-then-act races caught only by the constraint: {}",
+                Math.round(constraintRate), Math.round(checkThenActRate), passedCheckButRejected.get());
+
+        //then
+        assertThat(created.get()).isEqualTo(DISTINCT_EMAILS);
+        assertThat(duplicates.get()).isEqualTo(THREADS * CREATES_PER_THREAD - DISTINCT_EMAILS);
+        assertThat(employeeRepository.count()).isEqualTo(2L * DISTINCT_EMAILS);
+    }
+
+    private double hammer(String prefix, Consumer<Employee> create) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                try {
+                    startSignal.await();
+                    for (int i = 0; i < CREATES_PER_THREAD; i++) {
+                        int n = (thread * CREATES_PER_THREAD + i) % DISTINCT_EMAILS;
+                        create.accept(Employee.builder().firstName("First" + n).lastName("Last" + n)
+                                .email(prefix + n + "@gmail.com").build());
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long start = System.nanoTime();
+        startSignal.countDown();
+        assertThat(done.await(5, TimeUnit.MINUTES)).isTrue();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        executor.shutdown();
+        return THREADS * CREATES_PER_THREAD / seconds;
+    }
+}
@@ -0,0 +1,144 @@
+package com.testlab.limit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Drives the limit with a simulated database on a virtual clock: a number of callers, a number of queries run at a
+// time and the rest queue, an answer later than CLIENT_TIMEOUT doesn't count
+public class AdaptiveConcurrencyLimitTests {
+
+    private static final int CONNECTIONS = 4;
+
+    private static final int CLIENTS = 48;
+
+    private static final long CLIENT_TIMEOUT = Duration.ofMillis(250).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @DisplayName("JUnit test for the limit following injected database latency")
+    @Test
+    public void givenInjectedDatabaseLatency_whenOverloaded_thenLimitShrinksAndGoodputStaysAtCapacity() {
+        //given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, CONNECTIONS, 400, Duration.ofSeconds(1),
+                25, Duration.ofMillis(100), 0.25, clock::get);
+        Database limited = new Database(limit, clock, CONNECTIONS, CLIENTS);
+        Database unlimited = new Database(null, new AtomicLong(), CONNECTIONS, CLIENTS);
+        limited.run(Duration.ofMillis(5), Duration.ofSeconds(1));
+        unlimited.run(Duration.ofMillis(5), Duration.ofSeconds(1));
+
+        //when
+        // 4 connections at 25ms a query serve 160 requests/s, 48 callers queueing on them wait 300ms
+        long goodput = limited.run(Duration.ofMillis(25), Duration.ofSeconds(2));
+        long collapsed = unlimited.run(Duration.ofMillis(25), Duration.ofSeconds(2));
+
+        //then
+        long capacity = 2 * CONNECTIONS * 1000 / 25;
+        assertThat(goodput).isGreaterThan(capacity * 6 / 10);
+        // only the requests queued before the slowdown still make it
+        assertThat(collapsed).isLessThan(goodput / 3);
+        assertThat(limit.getLimit()).isBetween(CONNECTIONS, 3 * CONNECTIONS);
+        // the slower backend is taken up within two minRttIntervals
+        assertThat(limit.getMinRtt()).isBetween(Duration.ofMillis(20), Duration.ofMillis(25));
+        assertThat(limit.getRejected()).isPositive();
+    }
+
+    @DisplayName("JUnit test for the limit tracking minRtt without shedding steady load")
+    @Test
+    public void givenSteadyLoadBelowCapacity_whenMinRttIntervalsPass_thenNothingIsShed() {
+        //given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 2, 400, Duration.ofSeconds(1),
+                25, Duration.ofMillis(100), 0.25, clock::get);
+        // 16 callers on 32 connections never queue
+        Database database = new Database(limit, clock, 32, 16);
+
+        //when
+        long answered = database.run(Duration.ofMillis(5), Duration.ofSeconds(5));
+
+        //then
+        assertThat(limit.getRejected()).isLessThanOrEqualTo(answered / 1000);
+        assertThat(limit.getLimit()).isGreaterThanOrEqualTo(16);
+        assertThat(limit.getMinRtt()).isEqualTo(Duration.ofMillis(5));
+    }
+
+    @DisplayName("JUnit test for the limit backing off on failed requests")
+    @Test
+    public void givenDroppedRequests_whenReleased_thenLimitBacksOff() {
+        //given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 2, 200, Duration.ofSeconds(1),
+                1, Duration.ofMillis(100), 0.25, clock::get);
+        limit.tryAcquire();
+        limit.onSuccess(Duration.ofMillis(5).toNanos());
+        assertThat(limit.getLimit()).isEqualTo(20);
+
+        //when
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire();
+            limit.onDropped();
+        }
+
+        //then
+        assertThat(limit.getLimit()).isEqualTo(6);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    // discrete event simulation: a caller retries 10ms after a rejection and right after an answer, an admitted
+    // query waits for the first free connection
+    private static final class Database {
+
+        private static final long RETRY = Duration.ofMillis(10).toNanos();
+
+        private final AdaptiveConcurrencyLimit limit;
+
+        private final AtomicLong clock;
+
+        private final long[] connections;
+
+        // time, submitted at (-1 for a request still to be sent)
+        private final PriorityQueue<long[]> events = new PriorityQueue<>(Comparator.comparingLong(event -> event[0]));
+
+        private Database(AdaptiveConcurrencyLimit limit, AtomicLong clock, int connections, int clients) {
+            this.limit = limit;
+            this.clock = clock;
+            this.connections = new long[connections];
+            for (int i = 0; i < clients; i++)
+                events.add(new long[]{clock.get(), -1});
+        }
+
+        // returns the answers within CLIENT_TIMEOUT
+        private long run(Duration latency, Duration duration) {
+            long end = clock.get() + duration.toNanos();
+            long good = 0;
+            while (events.peek()[0] < end) {
+                long[] event = events.poll();
+                long now = event[0];
+                clock.set(now);
+                if (event[1] >= 0) {
+                    if (limit != null)
+                        limit.onSuccess(now - event[1]);
+                    if (now - event[1] <= CLIENT_TIMEOUT)
+                        good++;
+                    events.add(new long[]{now, -1});
+                } else if (limit == null || limit.tryAcquire()) {
+                    int connection = 0;
+                    for (int i = 1; i < connections.length; i++) {
+                        if (connections[i] < connections[connection])
+                            connection = i;
+                    }
+                    connections[connection] = Math.max(now, connections[connection]) + latency.toNanos();
+                    events.add(new long[]{connections[connection], now});
+                } else {
+                    events.add(new long[]{now + RETRY, -1});
+                }
+            }
+            clock.set(end);
+            return good;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.testlab.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrencyLimitFilterTests {
+
+    private static final FilterChain OK = (request, response) -> ((MockHttpServletResponse) response).setStatus(200);
+
+    @DisplayName("JUnit test for shedding requests over the limit of their endpoint class")
+    @Test
+    public void givenSaturatedBulkLimit_whenRequests_thenBulkShedAndReadsServed() throws Exception {
+        //given
+        ConcurrencyLimitFilter filter = filter(limit(1, 1, 1), limit(1, 1, 1));
+        CountDownLatch importing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<MockHttpServletResponse> running = CompletableFuture.supplyAsync(() ->
+                perform(filter, new MockHttpServletRequest("POST", "/api/employees/import"), (request, response) -> {
+                    importing.countDown();
+                    await(release);
+                }));
+        assertThat(importing.await(10, TimeUnit.SECONDS)).isTrue();
+
+        //when
+        MockHttpServletResponse bulk = perform(filter, new MockHttpServletRequest("POST", "/api/employees/batch"), OK);
+        MockHttpServletResponse read = perform(filter, new MockHttpServletRequest("GET", "/api/employees/1"), OK);
+        release.countDown();
+
+        //then
+        assertThat(bulk.getStatus()).isEqualTo(503);
+        assertThat(bulk.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(bulk.getContentAsString()).contains("Too many concurrent bulk requests");
+        assertThat(read.getStatus()).isEqualTo(200);
+        assertThat(running.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+        assertThat(filter.getLimit(EndpointClass.BULK).getRejected()).isEqualTo(1);
+        assertThat(filter.getLimit(EndpointClass.BULK).getInFlight()).isZero();
+    }
+
+    private static ConcurrencyLimitFilter filter(AdaptiveConcurrencyLimit read, AdaptiveConcurrencyLimit bulk) {
+        return new ConcurrencyLimitFilter(Map.of(
+                EndpointClass.READ, read,
+                EndpointClass.WRITE, limit(20, 2, 200),
+                EndpointClass.BULK, bulk), Duration.ofSeconds(1), new ObjectMapper());
+    }
+
+    private static AdaptiveConcurrencyLimit limit(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, Duration.ofSeconds(1), 25,
+                Duration.ofMillis(100), 0.25);
+    }
+
+    private static MockHttpServletResponse perform(ConcurrencyLimitFilter filter, MockHttpServletRequest request,
+                                                   FilterChain chain) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+        return response;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
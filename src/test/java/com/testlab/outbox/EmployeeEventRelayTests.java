@@ -0,0 +1,203 @@
+package com.testlab.outbox;
+
+import com.testlab.model.Employee;
+import com.testlab.repository.EmployeeOutboxRepository;
+import com.testlab.service.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.url=jdbc:h2:mem:events;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "employee.cache.enabled=false",
+        "employee.events.enabled=true",
+        "employee.events.poll-interval=100ms"
+})
+public class EmployeeEventRelayTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeOutboxRepository outboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private final List<Stream<String>> streams = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown(){
+        streams.forEach(Stream::close);
+    }
+
+    @DisplayName("JUnit test for streaming a committed create to an open event stream")
+    @Test
+    public void givenOpenStream_whenSaveEmployee_thenCreatedEventIsStreamed() throws Exception {
+        //given
+        Iterator<String> stream = openStream(null);
+
+        //when
+        Employee saved = employeeService.saveEmployee(employee("stream"));
+
+        //then
+        List<String> event = nextEvent(stream);
+        assertThat(event).contains("event:CREATED");
+        assertThat(event).anyMatch(line -> line.startsWith("data:") && line.contains("\"id\":" + saved.getId())
+                && line.contains("stream@gmail.com"));
+    }
+
+    @DisplayName("JUnit test for replaying missed events after Last-Event-ID before live ones")
+    @Test
+    public void givenLastEventId_whenReconnect_thenMissedEventsAreReplayedInOrder() throws Exception {
+        //given
+        employeeService.saveEmployee(employee("seen"));
+        long lastEventId = outboxRepository.findMaxId();
+        Employee missed = employeeService.saveEmployee(employee("missed"));
+        employeeService.deleteEmployee(missed.getId(), null);
+
+        //when
+        Iterator<String> stream = openStream(lastEventId);
+        employeeService.saveEmployee(employee("live"));
+
+        //then
+        List<String> first = nextEvent(stream);
+        List<String> second = nextEvent(stream);
+        List<String> third = nextEvent(stream);
+        assertThat(first).contains("id:" + (lastEventId + 1), "event:CREATED");
+        assertThat(first).anyMatch(line -> line.contains("missed@gmail.com"));
+        assertThat(second).contains("id:" + (lastEventId + 2), "event:DELETED");
+        assertThat(third).contains("id:" + (lastEventId + 3), "event:CREATED");
+        assertThat(third).anyMatch(line -> line.contains("live@gmail.com"));
+    }
+
+    @DisplayName("JUnit test for streaming past the outbox id of a rolled back transaction")
+    @Test
+    public void givenRolledBackOutboxRow_whenSaveEmployee_thenEventIsStreamedWithoutWaiting() throws Exception {
+        //given
+        Iterator<String> stream = openStream(null);
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxRepository.append(List.of(new EmployeeOutboxRepository.Entry(0, "CREATED", 0, "{}")));
+            status.setRollbackOnly();
+        });
+
+        //when
+        employeeService.saveEmployee(employee("afterrollback"));
+
+        //then the gap timeout is 30s, the event must not wait for it
+        List<String> event = nextEvent(stream);
+        assertThat(event).anyMatch(line -> line.contains("afterrollback@gmail.com"));
+    }
+
+    @DisplayName("JUnit test for streaming an outbox row that commits after a row with a higher id")
+    @Test
+    public void givenLateCommit_whenCommitted_thenEventIsStreamedAfterTheLaterOne() throws Exception {
+        //given
+        Iterator<String> stream = openStream(null);
+        CountDownLatch appended = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> slowWrite = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            outboxRepository.append(List.of(new EmployeeOutboxRepository.Entry(0, "CREATED", 0, "{\"late\":true}")));
+            appended.countDown();
+            try {
+                commit.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(appended.await(10, TimeUnit.SECONDS)).isTrue();
+
+        //when
+        employeeService.saveEmployee(employee("early"));
+        List<String> first = nextEvent(stream);
+        commit.countDown();
+        slowWrite.get(10, TimeUnit.SECONDS);
+
+        //then
+        List<String> second = nextEvent(stream);
+        assertThat(first).anyMatch(line -> line.contains("early@gmail.com"));
+        assertThat(second).anyMatch(line -> line.contains("\"late\":true"));
+    }
+
+    @DisplayName("JUnit test for refusing events beyond the buffer of a slow subscriber")
+    @Test
+    public void givenFullBuffer_whenOffer_thenSubscriberIsToBeEvicted(){
+        //given
+        EventSubscriber subscriber = new EventSubscriber(new SseEmitter(), 0, 1, command -> {});
+        EmployeeOutboxRepository.Entry entry = new EmployeeOutboxRepository.Entry(1, "CREATED", 1, "{}");
+        EmployeeOutboxRepository.Entry next = new EmployeeOutboxRepository.Entry(2, "CREATED", 2, "{}");
+
+        //when
+        boolean accepted = subscriber.offer(entry);
+        boolean overflowed = !subscriber.offer(next);
+        subscriber.evict();
+
+        //then
+        assertThat(accepted).isTrue();
+        assertThat(overflowed).isTrue();
+        assertThat(subscriber.isClosed()).isTrue();
+        assertThat(subscriber.offer(EventSubscriber.HEARTBEAT)).isFalse();
+    }
+
+    private Iterator<String> openStream(Long lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employees/events"))
+                .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE);
+        if (lastEventId != null)
+            request.header("Last-Event-ID", String.valueOf(lastEventId));
+        HttpResponse<Stream<String>> response = httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofLines())
+                .get(5, TimeUnit.SECONDS);
+        assertThat(response.statusCode()).isEqualTo(200);
+        streams.add(response.body());
+        return response.body().iterator();
+    }
+
+    // lines of the next event up to the blank line ending it, heartbeat comments are skipped
+    private static List<String> nextEvent(Iterator<String> stream) {
+        return assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            List<String> event = new ArrayList<>();
+            while (stream.hasNext()) {
+                String line = stream.next();
+                if (line.isEmpty() && !event.isEmpty())
+                    return event;
+                if (!line.isEmpty() && !line.startsWith(":"))
+                    event.add(line);
+            }
+            return event;
+        });
+    }
+
+    private static Employee employee(String name) {
+        return Employee.builder().firstName(name).lastName("Events").email(name + "@gmail.com").build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.testlab.repository;
+
+import com.testlab.model.Employee;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs EXPLAIN on the SQL Hibernate actually generates for each finder, against the schema built by the
+// Flyway migrations, and fails when H2 plans a full scan of employee_table
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.testlab.repository.EmployeeRepositoryQueryPlanTest$CapturingStatementInspector")
+public class EmployeeRepositoryQueryPlanTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            employees.add(Employee.builder().firstName("First" + i).lastName("Last" + i).email("e" + i + "@gmail.com").build());
+        }
+        employeeRepository.saveAllAndFlush(employees);
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @DisplayName("JUnit test for findByEmail query plan")
+    @Test
+    public void givenFindByEmail_whenExplain_thenUsesIndex() {
+        //when
+        employeeRepository.findByEmail("e1@gmail.com");
+
+        //then
+        assertIndexed(lastStatement(), "e1@gmail.com");
+    }
+
+    @DisplayName("JUnit test for findExistingEmails query plan")
+    @Test
+    public void givenFindExistingEmails_whenExplain_thenUsesIndex() {
+        //when
+        employeeRepository.findExistingEmails(List.of("e1@gmail.com", "e2@gmail.com"));
+
+        //then
+        assertIndexed(lastStatement(), "e1@gmail.com", "e2@gmail.com");
+    }
+
+    @DisplayName("JUnit test for findByJPQL query plan")
+    @Test
+    public void givenFindByJPQL_whenExplain_thenUsesIndex() {
+        //when
+        employeeRepository.findByJPQL("First1", "Last1");
+
+        //then
+        assertIndexed(lastStatement(), "First1", "Last1");
+    }
+
+    @DisplayName("JUnit test for findByJPQLNamedParams query plan")
+    @Test
+    public void givenFindByJPQLNamedParams_whenExplain_thenUsesIndex() {
+        //when
+        employeeRepository.findByJPQLNamedParams("First1", "Last1");
+
+        //then
+        assertIndexed(lastStatement(), "First1", "Last1");
+    }
+
+    @DisplayName("JUnit test for findByNativeSQL query plan")
+    @Test
+    public void givenFindByNativeSQL_whenExplain_thenUsesIndex() {
+        //when
+        employeeRepository.findByNativeSQL("First1", "Last1");
+
+        //then
+        assertIndexed(lastStatement(), "First1", "Last1");
+    }
+
+    private static String lastStatement() {
+        List<String> statements = CapturingStatementInspector.STATEMENTS;
+        assertThat(statements).isNotEmpty();
+        return statements.get(statements.size() - 1);
+    }
+
+    private void assertIndexed(String sql, Object... parameters) {
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class, parameters);
+        assertThat(plan).as("plan for %s", sql).doesNotContainIgnoringCase("tableScan");
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -1,18 +1,25 @@
 package com.testlab.repository;
 
+import com.testlab.dto.EmployeePatch;
+import com.testlab.dto.EmployeeView;
 import com.testlab.model.Employee;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.Optional;
 
 @DataJpaTest
+@Import(EmailConflictTranslator.class)
 public class EmployeeRepositoryTest {
 
     @Autowired
@@ -54,6 +61,26 @@ public class EmployeeRepositoryTest {
         assertThat(allEmployees.size()).isEqualTo(2);
     }
 
+    //JUnit test for keyset page of employees
+    @DisplayName("JUnit test for keyset page of employees operation")
+    @Test
+    public void givenEmployeesList_whenFindByIdGreaterThan_thenReturnNextSlice() {
+        //given
+        Employee employee1 = employeeRepository.save(Employee.builder().firstName("Santosh").lastName("K").email("sant@gmail.com").build());
+        Employee employee2 = employeeRepository.save(Employee.builder().firstName("Manoj").lastName("B").email("manoj@gmail.com").build());
+        Employee employee3 = employeeRepository.save(Employee.builder().firstName("Sonu").lastName("K").email("sonu@gmail.com").build());
+
+        //when
+        Slice<EmployeeView> firstPage = employeeRepository.findViewsAfter(0L, PageRequest.of(0, 2));
+        Slice<EmployeeView> lastPage = employeeRepository.findViewsAfter(employee2.getId(), PageRequest.of(0, 2));
+
+        //then
+        assertThat(firstPage.getContent()).extracting(EmployeeView::id).containsExactly(employee1.getId(), employee2.getId());
+        assertThat(firstPage.hasNext()).isTrue();
+        assertThat(lastPage.getContent()).extracting(EmployeeView::id).containsExactly(employee3.getId());
+        assertThat(lastPage.hasNext()).isFalse();
+    }
+
     //JUnit test for get employee by id
     @DisplayName("JUnit test for get the employees by id operation")
     @Test
@@ -111,6 +138,59 @@ public class EmployeeRepositoryTest {
 
     }
 
+    //JUnit test for single statement update employee operation
+    @DisplayName("JUnit test for single statement update employee operation")
+    @Test
+    public void givenEmployeeObject_whenUpdateById_thenEmployeeIsReplaced() {
+        //given
+        Employee savedEmp = employeeRepository.save(Employee.builder().firstName("Santosh").lastName("K").email("sant@gmail.com").build());
+
+        //when
+        int updated = employeeRepository.updateById(savedEmp.getId(), "Manoj", "B", "manoj@gmail.com");
+        int missing = employeeRepository.updateById(savedEmp.getId() + 1, "Manoj", "B", "manoj@gmail.com");
+
+        //then
+        assertThat(updated).isEqualTo(1);
+        assertThat(missing).isEqualTo(0);
+        assertThat(employeeRepository.findById(savedEmp.getId()).get().getEmail()).isEqualTo("manoj@gmail.com");
+    }
+
+    //JUnit test for partial update employee operation
+    @DisplayName("JUnit test for partial update employee operation")
+    @Test
+    public void givenEmployeePatch_whenPatchById_thenOnlySuppliedFieldsChange() {
+        //given
+        Employee savedEmp = employeeRepository.save(Employee.builder().firstName("Santosh").lastName("K").email("sant@gmail.com").build());
+
+        //when
+        int updated = employeeRepository.patchById(savedEmp.getId(), new EmployeePatch(null, "Kumar", null), null);
+
+        //then
+        Employee emp = employeeRepository.findById(savedEmp.getId()).get();
+        assertThat(updated).isEqualTo(1);
+        assertThat(emp.getFirstName()).isEqualTo("Santosh");
+        assertThat(emp.getLastName()).isEqualTo("Kumar");
+    }
+
+    //JUnit test for compare-and-set update employee operation
+    @DisplayName("JUnit test for compare-and-set update employee operation")
+    @Test
+    public void givenVersion_whenUpdateByIdAndVersion_thenOnlyCurrentVersionIsUpdated() {
+        //given
+        Employee savedEmp = employeeRepository.save(Employee.builder().firstName("Santosh").lastName("K").email("sant@gmail.com").build());
+        long version = employeeRepository.findVersionById(savedEmp.getId()).get();
+
+        //when
+        int updated = employeeRepository.updateByIdAndVersion(savedEmp.getId(), version, "Manoj", "B", "manoj@gmail.com");
+        int stale = employeeRepository.updateByIdAndVersion(savedEmp.getId(), version, "Sonu", "K", "sonu@gmail.com");
+
+        //then
+        assertThat(updated).isEqualTo(1);
+        assertThat(stale).isEqualTo(0);
+        assertThat(employeeRepository.findViewById(savedEmp.getId()).get())
+                .isEqualTo(new EmployeeView(savedEmp.getId(), "Manoj", "B", "manoj@gmail.com", version + 1));
+    }
+
     //JUnit test for delete employee operation
     @DisplayName("JUnit test for delete employee operation")
     @Test
@@ -129,6 +209,53 @@ public class EmployeeRepositoryTest {
 
     }
 
+    //JUnit test for single statement delete employee operation
+    @DisplayName("JUnit test for single statement delete employee operation")
+    @Test
+    public void givenEmployeeObject_whenDeleteEmployeeById_thenReturnAffectedCount() {
+        //given
+        Employee savedEmp = employeeRepository.save(Employee.builder().firstName("Santosh").lastName("K").email("sant@gmail.com").build());
+
+        //when
+        int deleted = employeeRepository.deleteEmployeeById(savedEmp.getId());
+        int deletedAgain = employeeRepository.deleteEmployeeById(savedEmp.getId());
+
+        //then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(deletedAgain).isEqualTo(0);
+        assertThat(employeeRepository.findById(savedEmp.getId())).isEmpty();
+    }
+
+    //JUnit test for bulk delete employee operation
+    @DisplayName("JUnit test for bulk delete employee operation")
+    @Test
+    public void givenEmployeesList_whenDeleteEmployeesByIds_thenRemoveAllInOneStatement() {
+        //given
+        Employee employee1 = employeeRepository.save(Employee.builder().firstName("Santosh").lastName("K").email("sant@gmail.com").build());
+        Employee employee2 = employeeRepository.save(Employee.builder().firstName("Manoj").lastName("B").email("manoj@gmail.com").build());
+
+        //when
+        int deleted = employeeRepository.deleteEmployeesByIds(List.of(employee1.getId(), employee2.getId(), -1L));
+
+        //then
+        assertThat(deleted).isEqualTo(2);
+        assertThat(employeeRepository.count()).isEqualTo(0);
+    }
+
+    //JUnit test for locking the existing ids of a bulk delete
+    @DisplayName("JUnit test for locking the existing ids of a bulk delete")
+    @Test
+    public void givenKnownAndUnknownIds_whenLockExistingIds_thenReturnOnlyExistingOnes() {
+        //given
+        Employee employee = employeeRepository.save(Employee.builder().firstName("Santosh").lastName("K").email("sant@gmail.com").build());
+
+        //when
+        List<Long> existingIds = employeeRepository.lockExistingIds(List.of(employee.getId(), -1L));
+
+        //then
+        assertThat(existingIds).containsExactly(employee.getId());
+    }
+
     //JUnit test for get employee by JPQL custom query with index
     @DisplayName("JUnit test for get the employees by JPQL custom query with index")
     @Test
@@ -184,4 +311,20 @@ public class EmployeeRepositoryTest {
 
     }
 
+    //JUnit test for a save that violates the unique email constraint
+    @DisplayName("JUnit test for a duplicate email translated without a stack trace")
+    @Test
+    public void givenExistingEmail_whenSave_thenStacklessEmailTaken() {
+        //given
+        employeeRepository.save(Employee.builder().firstName("Santosh").lastName("K").email("sant@gmail.com").build());
+
+        //when
+        Throwable thrown = catchThrowable(() -> employeeRepository.save(
+                Employee.builder().firstName("Manoj").lastName("B").email("sant@gmail.com").build()));
+
+        //then
+        assertThat(thrown).isInstanceOf(EmailConflictTranslator.EmailTakenException.class);
+        assertThat(thrown.getStackTrace()).isEmpty();
+    }
+
 }
@@ -0,0 +1,107 @@
+package com.testlab.search;
+
+import com.testlab.dto.EmployeeView;
+import com.testlab.event.EmployeeChangedEvent;
+import com.testlab.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeSearchIndexTests {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmployeeSearchIndex searchIndex;
+
+    private final EmployeeView john = new EmployeeView(1L, "John", "Smith", "john.smith@gmail.com", 0L);
+    private final EmployeeView joan = new EmployeeView(2L, "Joan", "Smythe", "joan@example.org", 0L);
+    private final EmployeeView santosh = new EmployeeView(3L, "Santosh", "Kumar", "sant@gmail.com", 0L);
+
+    @BeforeEach
+    public void setup() {
+        searchIndex = new EmployeeSearchIndex(employeeRepository, transactionManager);
+        searchIndex.index(john);
+        searchIndex.index(joan);
+        searchIndex.index(santosh);
+    }
+
+    @DisplayName("JUnit test for case-insensitive prefix search")
+    @Test
+    public void givenPrefix_whenSearch_thenReturnEveryEmployeeWithMatchingTerm() {
+        //when / then
+        assertThat(searchIndex.search("JO", 10)).containsExactly(joan, john);
+        assertThat(searchIndex.search("sant", 10)).containsExactly(santosh);
+        assertThat(searchIndex.search("gmail", 10)).containsExactlyInAnyOrder(john, santosh);
+    }
+
+    @DisplayName("JUnit test for typo-tolerant search")
+    @Test
+    public void givenTypo_whenSearch_thenExactMatchesRankFirst() {
+        //when / then
+        assertThat(searchIndex.search("jhon", 10)).containsExactly(john);
+        assertThat(searchIndex.search("santohs", 10)).containsExactly(santosh);
+        assertThat(searchIndex.search("john", 10)).startsWith(john);
+        assertThat(searchIndex.search("zzz", 10)).isEmpty();
+    }
+
+    @DisplayName("JUnit test for multi-word search")
+    @Test
+    public void givenSeveralWords_whenSearch_thenEveryWordMustMatch() {
+        //when / then
+        assertThat(searchIndex.search("kumra san", 10)).containsExactly(santosh);
+        assertThat(searchIndex.search("john kumar", 10)).isEmpty();
+    }
+
+    @DisplayName("JUnit test for search result limit")
+    @Test
+    public void givenLimit_whenSearch_thenReturnAtMostLimit() {
+        //when / then
+        assertThat(searchIndex.search("jo", 1)).containsExactly(joan);
+    }
+
+    @DisplayName("JUnit test for keeping the index in sync with updates and deletes")
+    @Test
+    public void givenChangeEvents_whenSearch_thenIndexReflectsThem() {
+        //given
+        EmployeeView renamed = new EmployeeView(1L, "Johnny", "Walker", "johnny@gmail.com", 0L);
+
+        //when
+        searchIndex.onEmployeeChanged(EmployeeChangedEvent.updated(renamed));
+        searchIndex.onEmployeeChanged(EmployeeChangedEvent.deleted(2L));
+
+        //then
+        assertThat(searchIndex.search("smith", 10)).isEmpty();
+        assertThat(searchIndex.search("walker", 10)).containsExactly(renamed);
+        assertThat(searchIndex.search("smythe", 10)).isEmpty();
+        assertThat(searchIndex.size()).isEqualTo(2);
+    }
+
+    @DisplayName("JUnit test for reloading a partially updated employee")
+    @Test
+    public void givenPatchedEvent_whenSearch_thenRowIsReloaded() {
+        //given
+        EmployeeView patched = new EmployeeView(3L, "Santosh", "Bhat", "sant@gmail.com", 0L);
+        BDDMockito.given(employeeRepository.findViewById(3L)).willReturn(Optional.of(patched));
+
+        //when
+        searchIndex.onEmployeeChanged(EmployeeChangedEvent.patched(3L));
+
+        //then
+        assertThat(searchIndex.search("bhat", 10)).containsExactly(patched);
+        assertThat(searchIndex.search("kumar", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,181 @@
+package com.testlab.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.testlab.config.CacheConfig;
+import com.testlab.config.EmployeeProperties;
+import com.testlab.dto.EmployeeView;
+import com.testlab.model.Employee;
+import com.testlab.repository.EmployeeRepository;
+import com.testlab.search.EmployeeSearchIndex;
+import com.testlab.service.impl.EmployeeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringJUnitConfig
+@TestPropertySource(properties = "employee.cache.enabled=true")
+public class EmployeeServiceCacheTests {
+
+    @Configuration
+    @Import({CacheConfig.class, EmployeeServiceImpl.class})
+    @EnableConfigurationProperties(EmployeeProperties.class)
+    static class Config {
+    }
+
+    @MockBean
+    private EmployeeRepository employeeRepository;
+
+    @MockBean
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setUp(){
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @DisplayName("JUnit test for getEmployeeById served from cache")
+    @Test
+    public void givenCachedEmployee_whenGetEmployeeByIdTwice_thenRepositoryIsHitOnce(){
+        //given
+        EmployeeView employee = new EmployeeView(1L, "Santosh", "K", "sant@gmail.com", 0L);
+        BDDMockito.given(employeeRepository.findViewById(1L)).willReturn(Optional.of(employee));
+        // the cache and its stats are shared by all tests of the context, clear() does not reset them
+        CacheStats before = stats();
+
+        //when
+        employeeService.getEmployeeById(1L);
+        Optional<EmployeeView> cached = employeeService.getEmployeeById(1L);
+
+        //then
+        assertThat(cached).contains(employee);
+        verify(employeeRepository, times(1)).findViewById(1L);
+        CacheStats stats = stats().minus(before);
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for getEmployeeById caching not found results")
+    @Test
+    public void givenMissingEmployee_whenGetEmployeeByIdTwice_thenNegativeResultIsCached(){
+        //given
+        BDDMockito.given(employeeRepository.findViewById(2L)).willReturn(Optional.empty());
+
+        //when
+        employeeService.getEmployeeById(2L);
+        Optional<EmployeeView> cached = employeeService.getEmployeeById(2L);
+
+        //then
+        assertThat(cached).isEmpty();
+        verify(employeeRepository, times(1)).findViewById(2L);
+    }
+
+    @DisplayName("JUnit test for updateEmployee with If-Match refreshing the cache")
+    @Test
+    public void givenCachedEmployee_whenUpdateEmployee_thenCacheHoldsUpdatedEmployee(){
+        //given
+        EmployeeView employee = new EmployeeView(3L, "Santosh", "K", "sant@gmail.com", 0L);
+        Employee updated = Employee.builder().id(3L).firstName("Sonu").lastName("K").email("sonu@gmail.com").build();
+        BDDMockito.given(employeeRepository.findViewById(3L)).willReturn(Optional.of(employee));
+        BDDMockito.given(employeeRepository.updateByIdAndVersion(3L, 0L, "Sonu", "K", "sonu@gmail.com")).willReturn(1);
+        employeeService.getEmployeeById(3L);
+
+        //when
+        employeeService.updateEmployee(3L, updated, 0L);
+
+        //then
+        assertThat(employeeService.getEmployeeById(3L)).contains(new EmployeeView(3L, "Sonu", "K", "sonu@gmail.com", 1L));
+        verify(employeeRepository, times(1)).findViewById(3L);
+    }
+
+    @DisplayName("JUnit test for updateEmployee without If-Match evicting the cache")
+    @Test
+    public void givenCachedEmployee_whenUpdateEmployeeUnconditionally_thenNextLookupGoesToRepository(){
+        //given
+        EmployeeView employee = new EmployeeView(6L, "Santosh", "K", "sant@gmail.com", 0L);
+        EmployeeView reloaded = new EmployeeView(6L, "Sonu", "K", "sonu@gmail.com", 1L);
+        Employee updated = Employee.builder().id(6L).firstName("Sonu").lastName("K").email("sonu@gmail.com").build();
+        BDDMockito.given(employeeRepository.findViewById(6L)).willReturn(Optional.of(employee), Optional.of(reloaded));
+        BDDMockito.given(employeeRepository.updateById(6L, "Sonu", "K", "sonu@gmail.com")).willReturn(1);
+        employeeService.getEmployeeById(6L);
+
+        //when
+        employeeService.updateEmployee(6L, updated, null);
+
+        //then
+        assertThat(employeeService.getEmployeeById(6L)).contains(reloaded);
+        verify(employeeRepository, times(2)).findViewById(6L);
+        verify(employeeRepository, never()).findVersionById(anyLong());
+    }
+
+    @DisplayName("JUnit test for updateEmployee refreshing the cache only after commit")
+    @Test
+    public void givenTransaction_whenUpdateEmployee_thenCacheRefreshedAfterCommit(){
+        //given
+        EmployeeView employee = new EmployeeView(5L, "Santosh", "K", "sant@gmail.com", 0L);
+        Employee updated = Employee.builder().id(5L).firstName("Sonu").lastName("K").email("sonu@gmail.com").build();
+        BDDMockito.given(employeeRepository.findViewById(5L)).willReturn(Optional.of(employee));
+        BDDMockito.given(employeeRepository.updateByIdAndVersion(5L, 0L, "Sonu", "K", "sonu@gmail.com")).willReturn(1);
+        employeeService.getEmployeeById(5L);
+        org.springframework.cache.Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES_BY_ID);
+
+        //when
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            employeeService.updateEmployee(5L, updated, 0L);
+
+            //then
+            assertThat(cache.get(5L, EmployeeView.class)).isEqualTo(employee);
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(cache.get(5L, EmployeeView.class)).isEqualTo(new EmployeeView(5L, "Sonu", "K", "sonu@gmail.com", 1L));
+    }
+
+    @DisplayName("JUnit test for deleteEmployee evicting the cache")
+    @Test
+    public void givenCachedEmployee_whenDeleteEmployee_thenNextLookupGoesToRepository(){
+        //given
+        EmployeeView employee = new EmployeeView(4L, "Santosh", "K", "sant@gmail.com", 0L);
+        BDDMockito.given(employeeRepository.findViewById(4L)).willReturn(Optional.of(employee), Optional.empty());
+        BDDMockito.given(employeeRepository.deleteEmployeeById(4L)).willReturn(1);
+        employeeService.getEmployeeById(4L);
+
+        //when
+        employeeService.deleteEmployee(4L, null);
+
+        //then
+        assertThat(employeeService.getEmployeeById(4L)).isEmpty();
+        verify(employeeRepository, times(2)).findViewById(4L);
+    }
+
+    private CacheStats stats() {
+        return ((Cache<?, ?>) cacheManager.getCache(CacheConfig.EMPLOYEES_BY_ID).getNativeCache()).stats();
+    }
+}
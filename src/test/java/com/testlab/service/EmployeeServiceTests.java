@@ -1,12 +1,23 @@
 package com.testlab.service;
 
 
-import com.testlab.exception.ResourceNotFoundException;
+import com.testlab.config.EmployeeProperties;
+import com.testlab.dto.BatchItemResult;
+import com.testlab.dto.BatchItemStatus;
+import com.testlab.dto.EmployeePatch;
+import com.testlab.dto.EmployeeView;
+import com.testlab.event.EmployeeChangedEvent;
+import com.testlab.exception.EmployeeConflictException;
+import com.testlab.exception.PreconditionFailedException;
 import com.testlab.model.Employee;
+import com.testlab.repository.EmailConflictTranslator;
 import com.testlab.repository.EmployeeRepository;
+import com.testlab.search.EmployeeSearchIndex;
 import com.testlab.service.impl.EmployeeServiceImpl;
+import org.hibernate.exception.ConstraintViolationException;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 import org.junit.jupiter.api.Assertions;
@@ -18,9 +29,17 @@ import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import java.sql.SQLException;
 import java.util.*;
+import java.util.stream.Stream;
 
 @ExtendWith(MockitoExtension.class)  // If we are using @Mock and @InjectMocks that supports it
 public class EmployeeServiceTests {
@@ -28,6 +47,15 @@ public class EmployeeServiceTests {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Spy
+    private EmployeeProperties employeeProperties = new EmployeeProperties();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EmployeeSearchIndex employeeSearchIndex;
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
@@ -47,7 +75,6 @@ public class EmployeeServiceTests {
         Employee employee = Employee.builder().firstName("Santosh").lastName("K").email("sant@gmail.com").build();
 
         //stubbing the methods present in the service method
-        BDDMockito.given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.empty());
         BDDMockito.given(employeeRepository.save(employee)).willReturn(employee);
 
         //when
@@ -56,6 +83,7 @@ public class EmployeeServiceTests {
         //then
         assertThat(savedEmployee).isNotNull();
         assertThat(savedEmployee.getFirstName()).isEqualTo("Santosh");
+        verify(employeeRepository, never()).findByEmail(any());
     }
 
     //JUnit test for saveEmployee method which throws exception
@@ -65,15 +93,66 @@ public class EmployeeServiceTests {
         //given
         Employee employee = Employee.builder().firstName("Santosh").lastName("K").email("sant@gmail.com").build();
 
-        //stubbing the methods present in the service method
-        BDDMockito.given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.of(employee));
-//        BDDMockito.given(employeeRepository.save(employee)).willReturn(employee);
+        //stubbing the methods present in the service method - the unique email index rejects the insert
+        BDDMockito.given(employeeRepository.save(employee)).willThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(), "employee_table.uk_employee_email")));
+
+        //when
+        Assertions.assertThrows(EmployeeConflictException.class, () -> employeeService.saveEmployee(employee));
+
+        //then
+        verify(employeeRepository, times(1)).save(any(Employee.class));
+    }
+
+    //JUnit test for saveEmployee method with an email that is already taken
+    @DisplayName("JUnit test for saveEmployee method with an existing email")
+    @Test
+    public void givenExistingEmail_whenSaveEmployee_thenConflictFromSingleInsert(){
+        //given
+        Employee employee = Employee.builder().firstName("Santosh").lastName("K").email("sant@gmail.com").build();
+        EmailConflictTranslator.EmailTakenException taken = new EmailConflictTranslator.EmailTakenException(
+                new ConstraintViolationException("duplicate", new SQLException(), "employee_table.uk_employee_email"));
+        BDDMockito.given(employeeRepository.save(employee)).willThrow(taken);
 
         //when
-        Assertions.assertThrows(ResourceNotFoundException.class, () -> employeeService.saveEmployee(employee));
+        EmployeeConflictException conflict = Assertions.assertThrows(EmployeeConflictException.class,
+                () -> employeeService.saveEmployee(employee));
 
         //then
-        verify(employeeRepository, never()).save(any(Employee.class));
+        Assertions.assertSame(taken, conflict.getCause());
+        verify(employeeRepository, times(1)).save(any(Employee.class));
+        verifyNoMoreInteractions(employeeRepository);
+    }
+
+    //JUnit test for saveEmployees method
+    @DisplayName("JUnit test for saveEmployees method")
+    @Test
+    public void givenEmployeesList_whenSaveEmployees_thenReturnPerItemResults(){
+        //given
+        employeeProperties.getBatch().setSize(2);
+        Employee created = Employee.builder().firstName("Santosh").lastName("K").email("sant@gmail.com").build();
+        Employee existing = Employee.builder().firstName("Manoj").lastName("K").email("manoj@gmail.com").build();
+        Employee invalid = Employee.builder().firstName("Sonu").lastName("K").email("not-an-email").build();
+        Employee repeated = Employee.builder().firstName("Santosh").lastName("B").email("sant@gmail.com").build();
+
+        BDDMockito.given(employeeRepository.findExistingEmails(List.of("sant@gmail.com", "manoj@gmail.com")))
+                .willReturn(Set.of("manoj@gmail.com"));
+        BDDMockito.given(employeeRepository.findExistingEmails(List.of("sant@gmail.com")))
+                .willReturn(Set.of());
+        BDDMockito.willAnswer(invocation -> {
+            List<Employee> batch = invocation.getArgument(0);
+            batch.forEach(employee -> employee.setId(7L));
+            return null;
+        }).given(employeeRepository).batchInsert(any());
+
+        //when
+        List<BatchItemResult> results = employeeService.saveEmployees(List.of(created, existing, invalid, repeated));
+
+        //then
+        assertThat(results).extracting(BatchItemResult::status).containsExactly(
+                BatchItemStatus.CREATED, BatchItemStatus.DUPLICATE, BatchItemStatus.INVALID, BatchItemStatus.DUPLICATE);
+        assertThat(results.get(0).id()).isEqualTo(7L);
+        verify(employeeRepository, times(1)).batchInsert(List.of(created));
     }
 
     // JUnit test for getAllEmployees method
@@ -81,17 +160,17 @@ public class EmployeeServiceTests {
     @Test
     public void givenEmployeesList_whenGetAllEmployees_thenReturnEmployeesList(){
         //given
-        List<Employee> listEmps = new ArrayList<>();
-        Employee employee1 = Employee.builder().firstName("Santosh").lastName("K").email("sant@gmail.com").build();
-        Employee employee2 = Employee.builder().firstName("Manoj").lastName("K").email("manoj@gmail.com").build();
+        List<EmployeeView> listEmps = new ArrayList<>();
+        EmployeeView employee1 = new EmployeeView(1L, "Santosh", "K", "sant@gmail.com", 0L);
+        EmployeeView employee2 = new EmployeeView(2L, "Manoj", "K", "manoj@gmail.com", 0L);
 
         listEmps.add(employee1);
         listEmps.add(employee2);
 
-        BDDMockito.given(employeeRepository.findAll()).willReturn(listEmps);
+        BDDMockito.given(employeeRepository.findAllViews()).willReturn(listEmps);
 
         //when
-        List<Employee> emps = employeeService.getAllEmployees();
+        List<EmployeeView> emps = employeeService.getAllEmployees();
 
         //then
         assertThat(emps).isNotNull();
@@ -103,32 +182,66 @@ public class EmployeeServiceTests {
     @Test
     public void givenEmptyEmployeesList_whenGetAllEmployees_thenReturnEmptyEmployeesList(){
         //given
-        BDDMockito.given(employeeRepository.findAll()).willReturn(Collections.emptyList());
+        BDDMockito.given(employeeRepository.findAllViews()).willReturn(Collections.emptyList());
 
         //when
-        List<Employee> emps = employeeService.getAllEmployees();
+        List<EmployeeView> emps = employeeService.getAllEmployees();
 
         //then
         assertThat(emps).isEmpty();
         assertThat(emps.size()).isEqualTo(0);
     }
 
+    // JUnit test for getEmployeesAfter method
+    @DisplayName("JUnit test for getEmployeesAfter method")
+    @Test
+    public void givenLastSeenId_whenGetEmployeesAfter_thenReturnNextSlice(){
+        //given
+        EmployeeView employee = new EmployeeView(6L, "Sonu", "k", "sonu@gmail.com", 0L);
+        BDDMockito.given(employeeRepository.findViewsAfter(5L, PageRequest.of(0, 1)))
+                .willReturn(new SliceImpl<>(List.of(employee), PageRequest.of(0, 1), true));
+
+        //when
+        Slice<EmployeeView> slice = employeeService.getEmployeesAfter(5L, 1);
+
+        //then
+        assertThat(slice.getContent()).containsExactly(employee);
+        assertThat(slice.hasNext()).isTrue();
+    }
+
+    // JUnit test for exportEmployees method
+    @DisplayName("JUnit test for exportEmployees method")
+    @Test
+    public void givenEmployeesStream_whenExportEmployees_thenEachEmployeeIsWritten(){
+        //given
+        EmployeeView employee1 = new EmployeeView(1L, "Santosh", "K", "sant@gmail.com", 0L);
+        EmployeeView employee2 = new EmployeeView(2L, "Manoj", "K", "manoj@gmail.com", 0L);
+        BDDMockito.given(employeeRepository.streamAll()).willReturn(Stream.of(employee1, employee2));
+
+        //when
+        List<EmployeeView> exported = new ArrayList<>();
+        employeeService.exportEmployees(exported::add);
+
+        //then
+        assertThat(exported).containsExactly(employee1, employee2);
+    }
+
     //JUnit test for getEmployeeById method
     @DisplayName("JUnit test for getEmployeeById method")
     @Test
     public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject(){
 
-        Employee employee = Employee.builder().id(2L).firstName("Sonu").lastName("k").email("sonu@gmail.com").build();
+        EmployeeView employee = new EmployeeView(2L, "Sonu", "k", "sonu@gmail.com", 0L);
         
         //given
-        BDDMockito.given(employeeRepository.findById(2L)).willReturn(Optional.of(employee));
+        BDDMockito.given(employeeRepository.findViewById(2L)).willReturn(Optional.of(employee));
         
         //when
-        Employee empObj = employeeService.getEmployeeById(employee.getId()).get();
+        EmployeeView empObj = employeeService.getEmployeeById(employee.id()).get();
 
         //then
         assertThat(empObj).isNotNull();
-        assertThat(empObj.getId()).isEqualTo(employee.getId());
+        assertThat(empObj.id()).isEqualTo(employee.id());
     }
 
     //JUnit test for updateEmployee method
@@ -136,17 +249,55 @@ public class EmployeeServiceTests {
     @Test
     public void givenEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployee(){
 
-        Employee employee = Employee.builder().id(2L).firstName("Sonu").lastName("k").email("sonu@gmail.com").build();
+        Employee employee = Employee.builder().firstName("Sonu").lastName("kumar").email("sonu@gmail.com").build();
 
         //given
-        BDDMockito.given(employeeRepository.save(employee)).willReturn(employee);
-        employee.setLastName("kumar");
+        BDDMockito.given(employeeRepository.updateById(2L, "Sonu", "kumar", "sonu@gmail.com")).willReturn(1);
+
         //when
-        Employee empObj = employeeService.updateEmployee(employee);
+        Optional<EmployeeView> empObj = employeeService.updateEmployee(2L, employee, null);
 
         //then
-        assertThat(empObj).isNotNull();
-        assertThat(empObj.getLastName()).isEqualTo("kumar");
+        assertThat(empObj).isPresent();
+        assertThat(empObj.get().id()).isEqualTo(2L);
+        assertThat(empObj.get().lastName()).isEqualTo("kumar");
+        // no If-Match, no read back: the new version stays unknown
+        assertThat(empObj.get().version()).isNull();
+        verify(employeeRepository, never()).findById(anyLong());
+        verify(employeeRepository, never()).findVersionById(anyLong());
+    }
+
+    //JUnit test for updateEmployee method - (Negative scenario)
+    @DisplayName("JUnit test for updateEmployee method - (Negative scenario)")
+    @Test
+    public void givenMissingEmployeeId_whenUpdateEmployee_thenReturnEmpty(){
+
+        Employee employee = Employee.builder().firstName("Sonu").lastName("kumar").email("sonu@gmail.com").build();
+
+        //given
+        BDDMockito.given(employeeRepository.updateById(2L, "Sonu", "kumar", "sonu@gmail.com")).willReturn(0);
+
+        //when
+        Optional<EmployeeView> empObj = employeeService.updateEmployee(2L, employee, null);
+
+        //then
+        assertThat(empObj).isEmpty();
+    }
+
+    //JUnit test for patchEmployee method
+    @DisplayName("JUnit test for patchEmployee method")
+    @Test
+    public void givenEmployeePatch_whenPatchEmployee_thenSingleUpdateIsIssued(){
+        //given
+        EmployeePatch patch = new EmployeePatch(null, "kumar", null);
+        BDDMockito.given(employeeRepository.patchById(2L, patch, null)).willReturn(1);
+
+        //when
+        boolean patched = employeeService.patchEmployee(2L, patch, null);
+
+        //then
+        assertThat(patched).isTrue();
+        verify(employeeRepository, never()).findById(anyLong());
     }
 
     //JUnit test for deleteEmployee method
@@ -157,12 +308,128 @@ public class EmployeeServiceTests {
         Employee employee = Employee.builder().id(2L).firstName("Sonu").lastName("k").email("sonu@gmail.com").build();
         long empId = 2L;
         //given
-        BDDMockito.willDoNothing().given(employeeRepository).deleteById(empId);
+        BDDMockito.given(employeeRepository.deleteEmployeeById(empId)).willReturn(1);
+
+        //when
+        boolean deleted = employeeService.deleteEmployee(empId, null);
+
+        //then
+        assertThat(deleted).isTrue();
+        verify(employeeRepository, times(1)).deleteEmployeeById(empId);
+        verify(employeeRepository, never()).findById(anyLong());
+        verify(eventPublisher, times(1)).publishEvent(EmployeeChangedEvent.deleted(empId));
+    }
+
+    //JUnit test for deleteEmployees method
+    @DisplayName("JUnit test for deleteEmployees method")
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenDeleteInChunks(){
+        //given
+        employeeProperties.getBatch().setSize(2);
+        BDDMockito.given(employeeRepository.lockExistingIds(List.of(1L, 2L))).willReturn(List.of(1L, 2L));
+        BDDMockito.given(employeeRepository.lockExistingIds(List.of(3L))).willReturn(List.of());
+        BDDMockito.given(employeeRepository.deleteEmployeesByIds(List.of(1L, 2L))).willReturn(2);
+
+        //when
+        int deleted = employeeService.deleteEmployees(List.of(1L, 2L, 2L, 3L));
+
+        //then
+        assertThat(deleted).isEqualTo(2);
+        verify(employeeRepository, never()).deleteEmployeesByIds(List.of(3L));
+    }
+
+    //JUnit test for deleteEmployees method publishing only real deletes
+    @DisplayName("JUnit test for deleteEmployees method skipping unknown ids in events")
+    @Test
+    public void givenUnknownIds_whenDeleteEmployees_thenPublishDeletedOnlyForExistingRows(){
+        //given
+        BDDMockito.given(employeeRepository.lockExistingIds(List.of(1L, 999L))).willReturn(List.of(1L));
+        BDDMockito.given(employeeRepository.deleteEmployeesByIds(List.of(1L))).willReturn(1);
+
+        //when
+        employeeService.deleteEmployees(List.of(1L, 999L));
+
+        //then
+        verify(eventPublisher, times(1)).publishEvent(EmployeeChangedEvent.deleted(1L));
+        verify(eventPublisher, never()).publishEvent(EmployeeChangedEvent.deleted(999L));
+    }
+
+    //JUnit test for searchEmployees method
+    @DisplayName("JUnit test for searchEmployees method")
+    @Test
+    public void givenQuery_whenSearchEmployees_thenReturnIndexMatches(){
+        //given
+        EmployeeView employee = new EmployeeView(2L, "Sonu", "k", "sonu@gmail.com", 0L);
+        BDDMockito.given(employeeSearchIndex.search("son", 10)).willReturn(List.of(employee));
+
+        //when
+        List<EmployeeView> matches = employeeService.searchEmployees("son", 10);
+
+        //then
+        assertThat(matches).containsExactly(employee);
+        verifyNoInteractions(employeeRepository);
+    }
+
+    //JUnit test for updateEmployee publishing the change
+    @DisplayName("JUnit test for updateEmployee method publishing EmployeeChangedEvent")
+    @Test
+    public void givenEmployeeObject_whenUpdateEmployee_thenPublishUpdatedEvent(){
+        //given
+        Employee employee = Employee.builder().firstName("Sonu").lastName("kumar").email("sonu@gmail.com").build();
+        BDDMockito.given(employeeRepository.updateById(2L, "Sonu", "kumar", "sonu@gmail.com")).willReturn(1);
+
+        //when
+        employeeService.updateEmployee(2L, employee, null);
+
+        //then
+        verify(eventPublisher, times(1)).publishEvent(
+                EmployeeChangedEvent.updated(new EmployeeView(2L, "Sonu", "kumar", "sonu@gmail.com", null)));
+    }
+
+    //JUnit test for updateEmployee method with If-Match
+    @DisplayName("JUnit test for updateEmployee method with the current version")
+    @Test
+    public void givenCurrentVersion_whenUpdateEmployee_thenCompareAndSetBumpsVersion(){
+        //given
+        Employee employee = Employee.builder().firstName("Sonu").lastName("kumar").email("sonu@gmail.com").build();
+        BDDMockito.given(employeeRepository.updateByIdAndVersion(2L, 3L, "Sonu", "kumar", "sonu@gmail.com")).willReturn(1);
+
+        //when
+        Optional<EmployeeView> empObj = employeeService.updateEmployee(2L, employee, 3L);
+
+        //then
+        assertThat(empObj).contains(new EmployeeView(2L, "Sonu", "kumar", "sonu@gmail.com", 4L));
+        verify(employeeRepository, never()).findVersionById(anyLong());
+    }
+
+    //JUnit test for updateEmployee method with a stale If-Match
+    @DisplayName("JUnit test for updateEmployee method with a stale version")
+    @Test
+    public void givenStaleVersion_whenUpdateEmployee_thenThrowsPreconditionFailedException(){
+        //given
+        Employee employee = Employee.builder().firstName("Sonu").lastName("kumar").email("sonu@gmail.com").build();
+        BDDMockito.given(employeeRepository.updateByIdAndVersion(2L, 3L, "Sonu", "kumar", "sonu@gmail.com")).willReturn(0);
+        BDDMockito.given(employeeRepository.findVersionById(2L)).willReturn(Optional.of(5L));
+
+        //when
+        Assertions.assertThrows(PreconditionFailedException.class, () -> employeeService.updateEmployee(2L, employee, 3L));
+
+        //then
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    //JUnit test for deleteEmployee method with a stale If-Match
+    @DisplayName("JUnit test for deleteEmployee method with a stale version")
+    @Test
+    public void givenStaleVersion_whenDeleteEmployee_thenThrowsPreconditionFailedException(){
+        //given
+        BDDMockito.given(employeeRepository.deleteEmployeeByIdAndVersion(2L, 3L)).willReturn(0);
+        BDDMockito.given(employeeRepository.findVersionById(2L)).willReturn(Optional.of(5L));
 
         //when
-        employeeService.deleteEmployee(empId);
+        Assertions.assertThrows(PreconditionFailedException.class, () -> employeeService.deleteEmployee(2L, 3L));
 
         //then
-        verify(employeeRepository, times(1)).deleteById(empId);
+        verify(employeeRepository, never()).deleteEmployeeById(anyLong());
     }
 }
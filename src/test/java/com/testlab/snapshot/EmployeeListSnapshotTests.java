@@ -0,0 +1,133 @@
+package com.testlab.snapshot;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testlab.config.EmployeeProperties;
+import com.testlab.dto.EmployeeListVersion;
+import com.testlab.dto.EmployeeView;
+import com.testlab.event.EmployeeChangedEvent;
+import com.testlab.service.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeListSnapshotTests {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final EmployeeProperties employeeProperties = new EmployeeProperties();
+
+    private final List<EmployeeView> employees = new ArrayList<>();
+
+    private EmployeeListSnapshot listSnapshot;
+
+    @BeforeEach
+    public void setup(){
+        employees.add(new EmployeeView(1L, "Santosh", "k", "sant@gmail.com", 0L));
+        employees.add(new EmployeeView(2L, "Ramesh", "Fadatare", "ramesh@gmail.com", 0L));
+        BDDMockito.given(employeeService.getEmployeeListVersion())
+                .willAnswer(invocation -> new EmployeeListVersion(employees.size(), employees.size(), 0));
+        BDDMockito.willAnswer(invocation -> {
+            Consumer<EmployeeView> sink = invocation.getArgument(0);
+            List.copyOf(employees).forEach(sink);
+            return null;
+        }).given(employeeService).exportEmployees(ArgumentMatchers.any());
+        listSnapshot = new EmployeeListSnapshot(employeeService, objectMapper, employeeProperties);
+    }
+
+    @AfterEach
+    public void tearDown(){
+        listSnapshot.destroy();
+    }
+
+    @DisplayName("JUnit test for encoding the list once into plain and gzipped buffers")
+    @Test
+    public void givenEmployees_whenGetTwice_thenListIsEncodedOnceAndBothBodiesMatch() throws IOException {
+        //given - setup
+
+        //when
+        EmployeeListSnapshot.Snapshot first = listSnapshot.get();
+        EmployeeListSnapshot.Snapshot second = listSnapshot.get();
+
+        //then
+        assertThat(second).isSameAs(first);
+        verify(employeeService, times(1)).exportEmployees(ArgumentMatchers.any());
+        assertThat(first.json().get(0).isDirect()).isTrue();
+        byte[] json = bytes(first.json());
+        assertThat(json).hasSize((int) first.jsonLength());
+        assertThat(objectMapper.readValue(json, new TypeReference<List<EmployeeView>>() {})).isEqualTo(employees);
+        try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(bytes(first.gzip())))) {
+            assertThat(gunzip.readAllBytes()).isEqualTo(json);
+        }
+    }
+
+    @DisplayName("JUnit test for serving a stale snapshot within max-staleness while it is rebuilt")
+    @Test
+    public void givenWriteWithinMaxStaleness_whenGet_thenStaleSnapshotIsServedAndRebuiltInBackground(){
+        //given
+        employeeProperties.getSnapshot().setMaxStaleness(Duration.ofHours(1));
+        EmployeeListSnapshot.Snapshot stale = listSnapshot.get();
+        employees.add(new EmployeeView(3L, "Suresh", "k", "suresh@gmail.com", 0L));
+        listSnapshot.onEmployeeChanged(EmployeeChangedEvent.created(employees.get(2)));
+
+        //when
+        EmployeeListSnapshot.Snapshot served = listSnapshot.get();
+
+        //then
+        assertThat(served).isSameAs(stale);
+        verify(employeeService, timeout(5000).times(2)).exportEmployees(ArgumentMatchers.any());
+    }
+
+    @DisplayName("JUnit test for rebuilding a stale snapshot past max-staleness before serving it")
+    @Test
+    public void givenWritePastMaxStaleness_whenGet_thenFreshSnapshotIsServed(){
+        //given
+        employeeProperties.getSnapshot().setMaxStaleness(Duration.ZERO);
+        listSnapshot.get();
+        employees.add(new EmployeeView(3L, "Suresh", "k", "suresh@gmail.com", 0L));
+        listSnapshot.onEmployeeChanged(EmployeeChangedEvent.created(employees.get(2)));
+
+        //when
+        EmployeeListSnapshot.Snapshot served = listSnapshot.get();
+
+        //then
+        assertThat(served.version()).isEqualTo(new EmployeeListVersion(3, 3, 0));
+        assertThat(new String(bytes(served.json()))).contains("suresh@gmail.com");
+    }
+
+    private static byte[] bytes(List<ByteBuffer> buffers) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (ByteBuffer buffer : buffers) {
+            ByteBuffer remaining = buffer.duplicate();
+            byte[] chunk = new byte[remaining.remaining()];
+            remaining.get(chunk);
+            out.writeBytes(chunk);
+        }
+        return out.toByteArray();
+    }
+}